@@ -0,0 +1,98 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes synthetic users.txt / submissions.txt files into a temp directory and
+ * points DataManager at it through -Damazi.dataDir. Must run before anything
+ * touches DataManager, which JMH guarantees by forking a JVM per parameter set.
+ */
+final class BenchmarkData {
+
+    static final int RECORDS_PER_STUDENT = 20;
+    static final String[] COURSES = {"General", "Computer Science", "Database", "Java", "Python", "Software Engineering"};
+    static final SubmissionStatus[] STATUSES = {SubmissionStatus.APPROVED, SubmissionStatus.APPROVED,
+            SubmissionStatus.APPROVED, SubmissionStatus.REJECTED, SubmissionStatus.REVISION,
+            SubmissionStatus.SUBMITTED, SubmissionStatus.PENDING};
+    static final Grade[] GRADES = {Grade.A_PLUS, Grade.A, Grade.B_PLUS, Grade.B, Grade.C_PLUS, Grade.C, Grade.D};
+
+    private BenchmarkData() {}
+
+    static String studentName(int i) {
+        return "Student " + (i / RECORDS_PER_STUDENT);
+    }
+
+    static String username(int i) {
+        return "user" + i;
+    }
+
+    static String password(int i) {
+        return "pass" + i;
+    }
+
+    static Path create(int records) {
+        try {
+            Path dir = Files.createTempDirectory("amazi-bench-");
+            writeUsers(dir.resolve("users.txt"), records);
+            writeSubmissions(dir.resolve("submissions.txt"), records);
+            System.setProperty("amazi.dataDir", dir.toString());
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void delete(Path dir) {
+        if (dir == null) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException ignored) {
+            // temp directory; nothing to recover
+        }
+    }
+
+    private static void writeUsers(Path file, int count) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                String role = i % 50 == 0 ? "Faculty" : i % 500 == 0 ? "Admin" : "Student";
+                w.write(i + "|User " + i + "|" + username(i) + "|" + username(i) + "@amazi.edu|" + password(i) + "|" + role);
+                w.newLine();
+            }
+        }
+    }
+
+    private static void writeSubmissions(Path file, int count) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            long now = System.currentTimeMillis();
+            w.write(RecordTokenizer.ESCAPED_HEADER);
+            w.newLine();
+            for (int i = 0; i < count; i++) {
+                Submission s = new Submission(UUID.randomUUID().toString(), "Project " + i,
+                        COURSES[i % COURSES.length], "Project", "General", LocalDate.now(),
+                        "Synthetic description for record " + i, "None",
+                        STATUSES[i % STATUSES.length], studentName(i));
+                s.setFeedback(i % 3 == 0 ? "Good work" : "No feedback");
+                s.setGrade(GRADES[i % GRADES.length]);
+                s.setOrganizationName("Hawassa University");
+                s.setEmail("org" + (i % 100) + "@amazi.edu");
+                s.setCreditHours(1 + i % 4);
+                s.setLastUpdated(now - i);
+                w.write(SubmissionTextFormat.format(s));
+                w.newLine();
+            }
+        }
+    }
+}
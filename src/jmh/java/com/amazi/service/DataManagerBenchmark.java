@@ -0,0 +1,123 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link DataManager} against synthetic data sets.
+ * Run with: mvn -Pjmh package && java -jar target/benchmarks.jar DataManagerBenchmark
+ * Narrow the sizes with e.g. -p records=1000,100000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataManagerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int records;
+
+    private Path dataDir;
+    private List<Submission> submissions;
+    private int cursor;
+    private String dashboardStudent;
+    private String loginUser;
+    private String loginPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDir = BenchmarkData.create(records);
+        DataManager.bootstrap().join();
+        submissions = List.copyOf(DataManager.getAllSubmissions());
+        dashboardStudent = BenchmarkData.studentName(records / 2);
+        loginUser = BenchmarkData.username(records / 2);
+        loginPassword = BenchmarkData.password(records / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataManager.flush();
+        BenchmarkData.delete(dataDir);
+    }
+
+    /** Startup parse of the snapshot (binary sidecar once it exists) plus journal replay. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Submission> loadSubmissionsFromFile() {
+        return DataManager.loadSubmissionsFromFile();
+    }
+
+    /** Text-only load: the sidecar is removed before each call so the pipe-delimited path is measured. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Submission> loadSubmissionsFromText(TextOnly textOnly) {
+        return DataManager.loadSubmissionsFromFile();
+    }
+
+    /** Full rewrite of submissions.txt (and its sidecar), waiting until it is on disk. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void saveSubmissionsToFile() {
+        DataManager.saveSubmissionsToFile();
+    }
+
+    /** One faculty grade click: index update plus a queued journal append. */
+    @Benchmark
+    public void updateSubmissionInFile() {
+        Submission s = submissions.get(cursor++ % submissions.size());
+        s.setGrade(BenchmarkData.GRADES[cursor % BenchmarkData.GRADES.length]);
+        DataManager.updateSubmissionInFile(s);
+    }
+
+    @Benchmark
+    public Object validateUser() {
+        return DataManager.validateUser(loginUser, loginPassword);
+    }
+
+    /**
+     * The data side of StudentDashboardController.refreshDashboardData: the
+     * student's records, the history-clear filter and the credit/CGPA cards.
+     */
+    @Benchmark
+    public void dashboardAggregation(Blackhole bh) {
+        long lastClear = DataManager.getLastClearTime(dashboardStudent);
+        int visible = 0;
+        for (Submission s : DataManager.getSubmissionsFor(dashboardStudent)) {
+            if (s.getStatus() != SubmissionStatus.PENDING && s.getLastUpdated() > lastClear) visible++;
+        }
+        AcademicTotals totals = DataManager.getAcademicTotals(dashboardStudent);
+        bh.consume(visible);
+        bh.consume(totals.getApprovedCredits());
+        bh.consume(totals.getCgpa());
+    }
+
+    @State(Scope.Thread)
+    public static class TextOnly {
+        @Setup(Level.Invocation)
+        public void dropSidecar(DataManagerBenchmark bench) throws Exception {
+            DataManager.flush();
+            Files.deleteIfExists(SubmissionSnapshotCodec.sidecarFor(bench.dataDir.resolve("submissions.txt")));
+        }
+    }
+}
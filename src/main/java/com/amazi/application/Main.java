@@ -1,45 +1,34 @@
 package com.amazi.application;
 
+import com.amazi.service.DataManager;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import java.net.URL;
 
  public class Main extends Application {
 
     @Override
     public void start(Stage stage) throws Exception {
-        // 1. FIXED  Login FXML PATH:
-        URL fxmlLocation = getClass().getResource("/com/amazi/view/Login.fxml");
+        // Start reading users and submissions in the background while the login screen renders
+        DataManager.bootstrap();
 
-        if (fxmlLocation == null) {
-            System.err.println("FATAL ERROR: Java cannot find Login.fxml at /com/amazi/view/Login.fxml");
-            return;
-        }
+        // Login screen plus style.css, cached for every later return to it
+        NavigationService.show(stage, View.LOGIN, "Digital Student Portfolio");
 
-        FXMLLoader loader = new FXMLLoader(fxmlLocation);
-        Parent root = loader.load();
-        Scene scene = new Scene(root );
+        // Student is the default login tab, so its dashboard is the most likely next screen
+        NavigationService.prewarm(View.STUDENT_DASHBOARD);
+    }
 
-        // 2. FIXED CSS PATH:
-        URL cssLocation = getClass().getResource("/css/style.css");
-        if (cssLocation != null) {
-            scene.getStylesheets().add(cssLocation.toExternalForm());
-            System.out.println("CSS Loaded Successfully!");
-        } else {
-            System.err.println("ERROR: CSS file not found at /css/style.css");
+    @Override
+    public void stop() {
+        // Saves are written behind the UI; make sure the last ones reach disk before exit
+        if (!DataManager.shutdown()) {
+            System.err.println("WARNING: Some changes may not have been saved.");
         }
-
-        stage.setTitle("Digital Student Portfolio");
-
-        stage.setScene(scene);
-
-        stage.show();
     }
 
      public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
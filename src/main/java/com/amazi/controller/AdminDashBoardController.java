@@ -1,34 +1,49 @@
 package com.amazi.controller;
 
+import com.amazi.model.Submission;
 import com.amazi.model.User;
+import com.amazi.service.BulkImporter;
+import com.amazi.service.DataExporter;
 import com.amazi.service.DataManager;
-import javafx.animation.FadeTransition;
+import com.amazi.service.Metrics;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
+import com.amazi.service.RoleCounts;
+import com.amazi.service.ToastService;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 import javafx.util.Duration;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class AdminDashBoardController {
+public class AdminDashBoardController implements NavigationService.ViewLifecycle {
 
     private static final Logger LOGGER = Logger.getLogger(AdminDashBoardController.class.getName());
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(200);
 
     @FXML private TableView<User> userTable;
     @FXML private TableColumn<User, Integer> idColumn;
@@ -44,8 +59,16 @@ public class AdminDashBoardController {
     @FXML private Label totalAdminLabel;
     @FXML private Label pendingSubmissionsLabel;
 
-    private ObservableList<User> masterData = FXCollections.observableArrayList();
+    @FXML private VBox exportProgressBox;
+    @FXML private Label exportStatusLabel;
+    @FXML private ProgressBar exportProgressBar;
+
+    private final ObservableList<User> masterData = FXCollections.observableArrayList();
     private FilteredList<User> filteredData;
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    // Bumped for every new filter so a slow search can't overwrite a newer one
+    private long filterGeneration;
+    private Task<Integer> runningExport;
 
     @FXML
     public void initialize() {
@@ -65,36 +88,66 @@ public class AdminDashBoardController {
             return row;
         });
 
-        refreshTableData();
-    }
-
-    private void refreshTableData() {
-        masterData = FXCollections.observableArrayList(DataManager.getAllUsers());
         filteredData = new FilteredList<>(masterData, p -> true);
-
-        // Expression Lambda for Search
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilter(newVal));
-
         SortedList<User> sortedData = new SortedList<>(filteredData);
         sortedData.comparatorProperty().bind(userTable.comparatorProperty());
         userTable.setItems(sortedData);
 
-        updateUserCount(filteredData.size());
+        // Registered once; the search runs when typing pauses, not on every keystroke
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchDebounce.playFromStart());
+        searchDebounce.setOnFinished(e -> applyFilter(searchField.getText()));
+    }
+
+    // Accounts may have registered or changed since the last visit
+    @Override
+    public void onShow() {
+        refreshTableData();
+    }
+
+    @Override
+    public void onHide() {
+        searchDebounce.stop();
+    }
+
+    // User reads run on the auth thread; only the table and label updates come back to the FX thread
+    private void refreshTableData() {
+        DataManager.getAllUsers()
+                .thenAcceptAsync(all -> {
+                    masterData.setAll(all);
+                    applyFilter(searchField.getText());
+                }, Platform::runLater)
+                .exceptionally(ex -> {
+                    LOGGER.log(Level.WARNING, "Could not load the user directory", ex);
+                    return null;
+                });
         updateStatistics();
     }
 
     private void applyFilter(String searchText) {
-        filteredData.setPredicate(user -> {
-            if (searchText == null || searchText.isEmpty()) return true;
-            String lowerFilter = searchText.toLowerCase();
-            return user.getName().toLowerCase().contains(lowerFilter) ||
-                    user.getEmail().toLowerCase().contains(lowerFilter);
-        });
-        updateUserCount(filteredData.size());
+        long generation = ++filterGeneration;
+        if (searchText == null || searchText.isBlank()) {
+            filteredData.setPredicate(user -> true);
+            updateUserCount(filteredData.size());
+            return;
+        }
+        // Index lookup on the search thread; only the cheap set-membership filter runs on the FX thread
+        DataManager.searchUsersAsync(searchText)
+                .thenApply(HashSet::new)
+                .thenAcceptAsync(hits -> {
+                    if (generation != filterGeneration) return;
+                    filteredData.setPredicate(hits::contains);
+                    updateUserCount(filteredData.size());
+                }, Platform::runLater)
+                .exceptionally(ex -> {
+                    LOGGER.log(Level.WARNING, "User search failed", ex);
+                    return null;
+                });
     }
 
     @FXML
     private void handleShowPendingOnly() {
+        searchDebounce.stop();
+        filterGeneration++;
         filteredData.setPredicate(user -> "Pending".equalsIgnoreCase(user.getRole()));
         updateUserCount(filteredData.size());
         searchField.setPromptText("Viewing Pending Reviews...");
@@ -105,8 +158,8 @@ public class AdminDashBoardController {
     private void handleResetFilter() {
         searchField.clear();
         searchField.setPromptText("Quick search...");
-        filteredData.setPredicate(user -> true);
-        updateUserCount(filteredData.size());
+        searchDebounce.stop();
+        applyFilter(null);
         showToast("List Reset");
     }
 
@@ -114,10 +167,8 @@ public class AdminDashBoardController {
     private void handleApproveUser() {
         User selected = userTable.getSelectionModel().getSelectedItem();
         if (selected != null && "Pending".equalsIgnoreCase(selected.getRole())) {
-            selected.setRole("Student");
-            // DataManager.updateUser(selected); // Logic to save to DB
-            refreshTableData();
-            showToast("✓ Approved: " + selected.getName());
+            DataManager.changeUserRole(selected, "Student").whenComplete((ignored, error) -> Platform.runLater(() ->
+                    afterUserChange(error, "✓ Approved: " + selected.getName(), "Could not approve the user.")));
         } else {
             showToast("Please select a Pending user");
         }
@@ -131,34 +182,228 @@ public class AdminDashBoardController {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION, "Reject and delete " + selected.getName() + "?", ButtonType.YES, ButtonType.NO);
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                DataManager.deleteUser(selected);
-                refreshTableData();
-                showToast("User Rejected");
+                DataManager.deleteUser(selected).whenComplete((ignored, error) -> Platform.runLater(() ->
+                        afterUserChange(error, "User Rejected", "Could not reject the user.")));
             }
         });
     }
 
+    @FXML
+    private void handleSetPassword() {
+        User selected = userTable.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            showAlert(Alert.AlertType.WARNING, "Selection Required", "Please select a user.");
+            return;
+        }
+        PasswordField passwordField = new PasswordField();
+        Dialog<String> dialog = new Dialog<>();
+        dialog.setTitle("Set Password");
+        dialog.setHeaderText("New password for " + selected.getName());
+        dialog.getDialogPane().setContent(passwordField);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.setResultConverter(button -> button == ButtonType.OK ? passwordField.getText() : null);
+        dialog.showAndWait().filter(p -> !p.isBlank()).ifPresent(password ->
+                DataManager.setPassword(selected, password).whenComplete((ignored, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        LOGGER.log(Level.SEVERE, "Could not set password", error);
+                        showAlert(Alert.AlertType.ERROR, "Error", "Could not update the password.");
+                    } else {
+                        showToast("✓ Password set for " + selected.getName());
+                    }
+                })));
+    }
+
     @FXML
     private void handleExportData() {
-        ObservableList<User> items = userTable.getItems();
+        // Snapshot of what the table shows, taken here on the FX thread
+        List<User> items = new ArrayList<>(userTable.getItems());
         if (items.isEmpty()) return;
+        File file = chooseExportFile("Export User Directory", "users");
+        if (file != null) startExport(items, file, DataExporter::exportUsers);
+    }
+
+    @FXML
+    private void handleExportSubmissions() {
+        File file = chooseExportFile("Export Submissions", "submissions");
+        if (file == null) return;
+        DataManager.whenSubmissionsReady(() -> {
+            List<Submission> records = new ArrayList<>(DataManager.getAllSubmissions());
+            if (records.isEmpty()) {
+                showToast("No submissions to export");
+                return;
+            }
+            startExport(records, file, DataExporter::exportSubmissions);
+        });
+    }
+
+    @FXML
+    private void handleCancelExport() {
+        if (runningExport != null) runningExport.cancel();
+    }
+
+    @FXML
+    private void handleImportUsers() {
+        File file = chooseImportFile("Import Users");
+        if (file == null) return;
+        showToast("Importing users…");
+        DataManager.importUsers(file.toPath()).whenComplete((result, error) -> Platform.runLater(() -> {
+            refreshTableData();
+            reportImport(result, error);
+        }));
+    }
 
+    @FXML
+    private void handleImportSubmissions() {
+        File file = chooseImportFile("Import Submissions");
+        if (file == null) return;
+        showToast("Importing submissions…");
+        DataManager.importSubmissions(file.toPath()).whenComplete((result, error) ->
+                Platform.runLater(() -> reportImport(result, error)));
+    }
+
+    private File chooseImportFile(String title) {
         FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Export User Directory");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
-        File file = fileChooser.showSaveDialog(userTable.getScene().getWindow());
+        fileChooser.setTitle(title);
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV or JSON Lines", "*.csv", "*.jsonl"));
+        return fileChooser.showOpenDialog(userTable.getScene().getWindow());
+    }
 
-        if (file != null) {
-            try (PrintWriter writer = new PrintWriter(file)) {
-                writer.println("ID,Name,Email,Role");
-                for (User u : items) {
-                    writer.printf("%d,%s,%s,%s%n", u.getUserID(), u.getName(), u.getEmail(), u.getRole());
-                }
-                showToast("✓ Data Exported");
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Export failed", e);
-            }
+    private void reportImport(BulkImporter.ImportResult result, Throwable error) {
+        if (error != null) {
+            LOGGER.log(Level.SEVERE, "Import failed", error);
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            showAlert(Alert.AlertType.ERROR, "Import Failed", cause.getMessage());
+            return;
         }
+        showToast("✓ " + result.summary());
+        if (result.errors().isEmpty()) return;
+
+        StringBuilder details = new StringBuilder();
+        for (BulkImporter.RowError e : result.errors()) {
+            details.append("Line ").append(e.line()).append(": ").append(e.message()).append('\n');
+        }
+        TextArea area = new TextArea(details.toString());
+        area.setEditable(false);
+        area.setWrapText(true);
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Import Report");
+        alert.setHeaderText(result.summary());
+        alert.getDialogPane().setExpandableContent(area);
+        alert.getDialogPane().setExpanded(true);
+        alert.show();
+    }
+
+    private File chooseExportFile(String title, String baseName) {
+        if (runningExport != null) {
+            showToast("An export is already running");
+            return null;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(title);
+        fileChooser.setInitialFileName(baseName + ".csv");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl"));
+        return fileChooser.showSaveDialog(userTable.getScene().getWindow());
+    }
+
+    private <T> void startExport(List<T> records, File file, ExportStarter<T> starter) {
+        DataExporter.Format format = DataExporter.Format.forFile(file.toPath());
+        Task<Integer> task = starter.start(records, file.toPath(), format);
+        runningExport = task;
+
+        exportProgressBar.progressProperty().bind(task.progressProperty());
+        exportStatusLabel.textProperty().bind(task.messageProperty());
+        exportProgressBox.setManaged(true);
+        exportProgressBox.setVisible(true);
+
+        task.setOnSucceeded(e -> finishExport("✓ Exported " + task.getValue() + " records"));
+        task.setOnCancelled(e -> finishExport("Export cancelled"));
+        task.setOnFailed(e -> {
+            LOGGER.log(Level.SEVERE, "Export failed", task.getException());
+            finishExport("Export failed");
+        });
+    }
+
+    private void finishExport(String message) {
+        runningExport = null;
+        exportProgressBar.progressProperty().unbind();
+        exportStatusLabel.textProperty().unbind();
+        exportProgressBox.setVisible(false);
+        exportProgressBox.setManaged(false);
+        showToast(message);
+    }
+
+    @FunctionalInterface
+    private interface ExportStarter<T> {
+        Task<Integer> start(List<T> records, Path target, DataExporter.Format format);
+    }
+
+    // --- DIAGNOSTICS ---
+
+    @FXML
+    private void handleShowDiagnostics() {
+        TableView<Metrics.Row> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.setPrefSize(760, 420);
+        table.getColumns().add(metricColumn("Metric", Metrics.Row::name));
+        table.getColumns().add(metricColumn("Kind", Metrics.Row::kind));
+        table.getColumns().add(metricColumn("Count / Value", r -> String.valueOf(r.count())));
+        table.getColumns().add(latencyColumn("Mean ms", Metrics.Row::meanMs));
+        table.getColumns().add(latencyColumn("p50 ms", Metrics.Row::p50Ms));
+        table.getColumns().add(latencyColumn("p90 ms", Metrics.Row::p90Ms));
+        table.getColumns().add(latencyColumn("p99 ms", Metrics.Row::p99Ms));
+        table.getColumns().add(latencyColumn("Max ms", Metrics.Row::maxMs));
+        table.getItems().setAll(Metrics.snapshot());
+
+        ButtonType refresh = new ButtonType("Refresh");
+        ButtonType save = new ButtonType("Save Snapshot…");
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Diagnostics");
+        dialog.setHeaderText(Metrics.ENABLED ? "Persistence and UI timings since startup"
+                : "Metrics are disabled (-Damazi.metrics=false)");
+        dialog.getDialogPane().setContent(table);
+        dialog.getDialogPane().getButtonTypes().addAll(refresh, save, ButtonType.CLOSE);
+        dialog.initOwner(userTable.getScene().getWindow());
+
+        // Refresh and Save keep the dialog open
+        dialog.getDialogPane().lookupButton(refresh).addEventFilter(ActionEvent.ACTION, e -> {
+            e.consume();
+            table.getItems().setAll(Metrics.snapshot());
+        });
+        dialog.getDialogPane().lookupButton(save).addEventFilter(ActionEvent.ACTION, e -> {
+            e.consume();
+            saveMetricsSnapshot();
+        });
+        dialog.show();
+    }
+
+    private void saveMetricsSnapshot() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Metrics Snapshot");
+        fileChooser.setInitialFileName("metrics.json");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showSaveDialog(userTable.getScene().getWindow());
+        if (file == null) return;
+        Metrics.dumpAsync(file.toPath()).whenComplete((ignored, error) -> {
+            if (error != null) LOGGER.log(Level.WARNING, "Could not save metrics snapshot", error);
+            showToast(error == null ? "✓ Metrics saved" : "Could not save metrics");
+        });
+    }
+
+    private static TableColumn<Metrics.Row, String> metricColumn(String title, Function<Metrics.Row, String> value) {
+        TableColumn<Metrics.Row, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(c -> new ReadOnlyStringWrapper(value.apply(c.getValue())));
+        return column;
+    }
+
+    // Latency columns stay blank for counters and gauges
+    private static TableColumn<Metrics.Row, String> latencyColumn(String title, ToDoubleFunction<Metrics.Row> value) {
+        return metricColumn(title, r -> r.isTimer() && r.count() > 0
+                ? String.format(Locale.ROOT, "%.2f", value.applyAsDouble(r)) : "");
     }
 
     private void handleOpenUserProfile(User user) {
@@ -167,15 +412,20 @@ public class AdminDashBoardController {
     }
 
     private void updateStatistics() {
-        long studentCount = masterData.stream().filter(u -> "Student".equalsIgnoreCase(u.getRole())).count();
-        long facultyCount = masterData.stream().filter(u -> "Faculty".equalsIgnoreCase(u.getRole())).count();
-        long adminCount = masterData.stream().filter(u -> "Admin".equalsIgnoreCase(u.getRole())).count();
-        long pendingCount = masterData.stream().filter(u -> "Pending".equalsIgnoreCase(u.getRole())).count();
+        // Counters are kept by DataManager as users change; no pass over masterData
+        DataManager.getRoleCounts()
+                .thenAcceptAsync(this::showRoleCounts, Platform::runLater)
+                .exceptionally(ex -> {
+                    LOGGER.log(Level.WARNING, "Could not read the role counts", ex);
+                    return null;
+                });
+    }
 
-        if (totalStudentsLabel != null) totalStudentsLabel.setText(String.valueOf(studentCount));
-        if (totalFacultyLabel != null) totalFacultyLabel.setText(String.valueOf(facultyCount));
-        if (totalAdminLabel != null) totalAdminLabel.setText(String.valueOf(adminCount));
-        if (pendingSubmissionsLabel != null) pendingSubmissionsLabel.setText(String.valueOf(pendingCount));
+    private void showRoleCounts(RoleCounts counts) {
+        if (totalStudentsLabel != null) totalStudentsLabel.setText(String.valueOf(counts.students()));
+        if (totalFacultyLabel != null) totalFacultyLabel.setText(String.valueOf(counts.faculty()));
+        if (totalAdminLabel != null) totalAdminLabel.setText(String.valueOf(counts.admins()));
+        if (pendingSubmissionsLabel != null) pendingSubmissionsLabel.setText(String.valueOf(counts.pending()));
     }
 
     @FXML
@@ -189,36 +439,22 @@ public class AdminDashBoardController {
             showAlert(Alert.AlertType.ERROR, "Denied", "Admins cannot be deleted.");
             return;
         }
-        DataManager.deleteUser(selected);
+        DataManager.deleteUser(selected).whenComplete((ignored, error) -> Platform.runLater(() ->
+                afterUserChange(error, "User Deleted", "Could not delete the user.")));
+    }
+
+    private void afterUserChange(Throwable error, String done, String failed) {
         refreshTableData();
-        showToast("User Deleted");
+        if (error != null) {
+            LOGGER.log(Level.SEVERE, failed, error);
+            showAlert(Alert.AlertType.ERROR, "Error", failed);
+        } else {
+            showToast(done);
+        }
     }
 
     private void showToast(String message) {
-        Stage stage = (Stage) userTable.getScene().getWindow();
-        Stage toastStage = new Stage();
-        toastStage.initOwner(stage);
-        toastStage.initStyle(StageStyle.TRANSPARENT);
-
-        Label label = new Label(message);
-        label.getStyleClass().add("toast-label");
-        StackPane root = new StackPane(label);
-        root.getStyleClass().add("toast-root");
-        root.setOpacity(0);
-
-        Scene scene = new Scene(root);
-        scene.setFill(null);
-        scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-        toastStage.setScene(scene);
-        toastStage.show();
-
-        FadeTransition fadeIn = new FadeTransition(Duration.millis(300), root);
-        fadeIn.setFromValue(0); fadeIn.setToValue(0.9);
-        FadeTransition fadeOut = new FadeTransition(Duration.millis(500), root);
-        fadeOut.setFromValue(0.9); fadeOut.setToValue(0);
-        fadeOut.setDelay(Duration.seconds(1.5));
-        fadeOut.setOnFinished(e -> toastStage.close());
-        fadeIn.play(); fadeOut.play();
+        ToastService.show(message);
     }
 
     private void updateUserCount(int count) {
@@ -228,11 +464,8 @@ public class AdminDashBoardController {
     @FXML
     private void handleLogout(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/amazi/view/Login.fxml"));
-            Scene scene = new Scene(loader.load());
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(scene);
-            stage.show();
+            NavigationService.show(stage, View.LOGIN, "AMAZI | Sign-In");
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Logout failed", e);
         }
@@ -1,32 +1,32 @@
 package com.amazi.controller;
 
+import com.amazi.model.Grade;
 import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
 import com.amazi.service.DataManager;
-import javafx.collections.ObservableList;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
 import javafx.collections.transformation.FilteredList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Circle;
 import javafx.stage.Stage;
 import java.io.IOException;
-import java.net.URL;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 @SuppressWarnings("all")
-public class FacultyReviewController {
+public class FacultyReviewController implements NavigationService.ViewLifecycle {
 
     private static final Logger LOGGER = Logger.getLogger(FacultyReviewController.class.getName());
 
     @FXML private TableView<Submission> submissionTable;
-    @FXML private TableColumn<Submission, String> colStudent, colTitle, colStatus;
+    @FXML private TableColumn<Submission, String> colStudent, colTitle;
+    @FXML private TableColumn<Submission, SubmissionStatus> colStatus;
     @FXML private TextField searchField, gradeField;
     @FXML private TextField creditField;
     @FXML private TextArea feedbackArea;
@@ -41,6 +41,7 @@ public class FacultyReviewController {
     @FXML private Button logoutButton;
 
     private Submission selectedSubmission;
+    private FilteredList<Submission> filteredData;
 
     @FXML
     public void initialize() {
@@ -48,17 +49,10 @@ public class FacultyReviewController {
         colTitle.setCellValueFactory(new PropertyValueFactory<>("title"));
         colStatus.setCellValueFactory(new PropertyValueFactory<>("status"));
 
-        ObservableList<Submission> masterData = DataManager.getAllSubmissions();
-        FilteredList<Submission> filteredData = new FilteredList<>(masterData, p -> true);
-
-        searchField.textProperty().addListener((obs, old, newVal) -> filteredData.setPredicate(s -> {
-            if (newVal == null || newVal.isEmpty()) return true;
-            String lower = newVal.toLowerCase();
-            return s.getStudentName().toLowerCase().contains(lower) ||
-                    s.getTitle().toLowerCase().contains(lower);
-        }));
-
-        submissionTable.setItems(filteredData);
+        // The index resolves the query to the matching ids once; each row is then a set lookup
+        searchField.textProperty().addListener((obs, old, newVal) -> {
+            if (filteredData != null) filteredData.setPredicate(DataManager.searchSubmissions(newVal));
+        });
 
         submissionTable.getSelectionModel().selectedItemProperty().addListener((obs, old, newVal) -> {
             if (newVal != null) showDetails(newVal);
@@ -91,11 +85,21 @@ public class FacultyReviewController {
         orgLabel.setText(s.getOrganizationName() != null && !s.getOrganizationName().isEmpty() ? s.getOrganizationName() : "N/A");
         emailLabel.setText(s.getEmail() != null && !s.getEmail().isEmpty() ? s.getEmail() : "N/A");
         feedbackArea.setText(s.getFeedback() != null ? s.getFeedback() : "");
-        gradeField.setText(s.getGrade() != null ? s.getGrade() : "");
+        gradeField.setText(s.getGrade() == Grade.NONE ? "" : s.getGrade().label());
 
         // Load existing credit hours if already assigned
         if (creditField != null) {
-            creditField.setText(s.getCreditHours() != null ? s.getCreditHours() : "");
+            creditField.setText(s.getCreditHours() > 0 ? String.valueOf(s.getCreditHours()) : "");
+        }
+    }
+
+    /** @return the credit hours typed, 0 if blank, or -1 if they aren't a non-negative whole number */
+    private static int parseCredits(String text) {
+        if (text == null || text.isBlank()) return 0;
+        try {
+            return Math.max(-1, Integer.parseInt(text.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
 
@@ -106,39 +110,58 @@ public class FacultyReviewController {
         }
     }
 
-    @FXML private void handleApprove() { updateSubmission("APPROVED"); }
-    @FXML private void handleReject() { updateSubmission("REJECTED"); }
-    @FXML private void handleRevision() { updateSubmission("REVISION"); }
+    @FXML private void handleApprove() { updateSubmission(SubmissionStatus.APPROVED); }
+    @FXML private void handleReject() { updateSubmission(SubmissionStatus.REJECTED); }
+    @FXML private void handleRevision() { updateSubmission(SubmissionStatus.REVISION); }
 
-    private void updateSubmission(String newStatus) {
+    private void updateSubmission(SubmissionStatus newStatus) {
         if (selectedSubmission == null) {
             showAlert(Alert.AlertType.WARNING, "Selection Required", "Please select a record.");
             return;
         }
 
-        // 1. Capture data from UI to the object
+        // 1. Validate the grade and credits before touching the record
+        Grade grade = Grade.parse(gradeField.getText());
+        if (grade == null) {
+            showAlert(Alert.AlertType.WARNING, "Invalid Grade", "Use a letter grade such as A+, B or C, or leave it empty.");
+            return;
+        }
+        int credits = creditField != null ? parseCredits(creditField.getText()) : selectedSubmission.getCreditHours();
+        if (credits < 0) {
+            showAlert(Alert.AlertType.WARNING, "Invalid Credit Hours", "Credit hours must be a whole number of 0 or more.");
+            return;
+        }
+
+        // 2. Capture data from UI to the object
         selectedSubmission.setStatus(newStatus);
         selectedSubmission.setFeedback(feedbackArea.getText());
-        selectedSubmission.setGrade(gradeField.getText().toUpperCase());
-
-        // Save Credit Hours to the submission object
-        if (creditField != null) {
-            selectedSubmission.setCreditHours(creditField.getText());
-        }
+        selectedSubmission.setGrade(grade);
+        selectedSubmission.setCreditHours(credits);
 
-        // 2. Push update to DataManager (which writes to file)
+        // 3. Push update to DataManager (which writes to file)
         DataManager.updateSubmissionInFile(selectedSubmission);
 
-        // 3. Force the table to visually update the status column
+        // 4. Force the table to visually update the status column
         submissionTable.refresh();
 
-        // 4. Alert success and reset
+        // 5. Alert success and reset
         showAlert(Alert.AlertType.INFORMATION, "Update Successful",
                 "Record for " + selectedSubmission.getStudentName() + " has been updated.");
 
         clearToolkit();
     }
 
+    // The submission list is FX-thread data, so it is bound on first show rather than in initialize()
+    @Override
+    public void onShow() {
+        if (filteredData == null) {
+            filteredData = new FilteredList<>(DataManager.getAllSubmissions(), p -> true);
+            submissionTable.setItems(filteredData);
+        }
+        clearToolkit();
+        searchField.clear();
+    }
+
     private void clearToolkit() {
         hideDetails();
         submissionTable.getSelectionModel().clearSelection();
@@ -151,28 +174,20 @@ public class FacultyReviewController {
 
     @FXML
     private void handleLogout(ActionEvent event) {
-        navigateTo("/com/amazi/view/Login.fxml", "Sign-In", event);
+        navigateTo(View.LOGIN, "Sign-In", event);
     }
 
-    private void navigateTo(String fxml, String title, ActionEvent event) {
+    private void navigateTo(View view, String title, ActionEvent event) {
         try {
-            URL loc = getClass().getResource(fxml);
-            if (loc == null) return;
-            Parent root = FXMLLoader.load(loc);
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            Scene scene = new Scene(root);
-            URL css = getClass().getResource("/com/amazi/view/style.css");
-            if (css != null) scene.getStylesheets().add(css.toExternalForm());
-            stage.setScene(scene);
-            stage.setTitle("FACULTY | " + title);
-            if (fxml.contains("Login.fxml")) {
+            if (view == View.LOGIN) {
                 stage.setFullScreen(false);
             } else {
                 stage.setMaximized(true);
                 stage.setFullScreen(true);
                 stage.setFullScreenExitHint("");
             }
-            stage.show();
+            NavigationService.show(stage, view, "FACULTY | " + title);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Navigation failed", e);
         }
@@ -2,20 +2,19 @@ package com.amazi.controller;
 
 import com.amazi.model.User;
 import com.amazi.service.DataManager;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import java.net.URL;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 
-public class LoginController {
+public class LoginController implements NavigationService.ViewLifecycle {
     private static final Logger LOGGER = Logger.getLogger(LoginController.class.getName());
     private static final String ERROR_COLOR = "#fb7185";
     private static final String SUCCESS_COLOR = "#4ade80";
@@ -40,6 +39,14 @@ public class LoginController {
         }
     }
 
+    // The controller is reused after logout; don't leave the last password or message behind
+    @Override
+    public void onShow() {
+        passwordField.clear();
+        messageLabel.setText("");
+        signInButton.setDisable(false);
+    }
+
     @FXML
     private void handleTabSwitch(ActionEvent event) {
         Button clicked = (Button) event.getSource();
@@ -66,6 +73,8 @@ public class LoginController {
             roleSelector.setValue("Student");
             updateSignInTheme("btn-student");
         }
+        // Parse the chosen role's dashboard while the user is still typing
+        NavigationService.prewarm(View.forRole(roleSelector.getValue()));
     }
 
     private void updateSignInTheme(String themeClass) {
@@ -86,28 +95,33 @@ public class LoginController {
             return;
         }
 
-        User user = DataManager.validateUser(identifier, password);
-
-        if (user != null) {
-            validateRoleAndNavigate(user, selectedRole, event);
-        } else {
-            showStatus("Invalid credentials. Please try again.", ERROR_COLOR);
+        // Accounts may still be loading in the background; the check below waits for them
+        if (!DataManager.usersReady().isDone()) {
+            showStatus("Loading accounts, please wait...", SUCCESS_COLOR);
         }
+
+        // Password check runs on DataManager's auth thread; the screen stays responsive meanwhile
+        signInButton.setDisable(true);
+        DataManager.validateUserAsync(identifier, password).whenComplete((user, error) -> Platform.runLater(() -> {
+            signInButton.setDisable(false);
+            if (error != null) {
+                LOGGER.log(Level.SEVERE, "Login check failed", error);
+                showStatus("Critical Error: Could not verify credentials.", ERROR_COLOR);
+            } else if (user != null) {
+                validateRoleAndNavigate(user, selectedRole, event);
+            } else {
+                showStatus("Invalid credentials. Please try again.", ERROR_COLOR);
+            }
+        }));
     }
 
     private void validateRoleAndNavigate(User user, String selectedRole, ActionEvent event) {
         String actualRole = user.getRole();
 
         if (actualRole != null && actualRole.equalsIgnoreCase(selectedRole)) {
-            String fxmlPath = switch (selectedRole.toLowerCase()) {
-                case "admin" -> "/com/amazi/view/AdminDashboard.fxml";
-                case "faculty" -> "/com/amazi/view/FacultyReview.fxml";
-                case "student" -> "/com/amazi/view/DashBoard.fxml";
-                default -> null;
-            };
-
-            if (fxmlPath != null) {
-                changeScene(fxmlPath, selectedRole + " Portal", event);
+            View view = View.forRole(selectedRole);
+            if (view != null) {
+                changeScene(view, selectedRole + " Portal", event);
             }
         } else {
             showStatus("Access Denied: Account is not registered as " + selectedRole, ERROR_COLOR);
@@ -116,7 +130,7 @@ public class LoginController {
 
     @FXML
     private void handleCreateAccount(ActionEvent event) {
-        changeScene("/com/amazi/view/Register.fxml", "Create Account", event);
+        changeScene(View.REGISTER, "Create Account", event);
     }
 
     @FXML
@@ -135,31 +149,11 @@ public class LoginController {
         messageLabel.setStyle("-fx-text-fill: " + color + "; -fx-font-weight: bold;");
     }
 
-    private void changeScene(String fxml, String title, ActionEvent event) {
+    private void changeScene(View view, String title, ActionEvent event) {
         try {
-            URL loc = getClass().getResource(fxml);
-            if (loc == null) {
-                LOGGER.log(Level.SEVERE, "FXML Path not found: {0}", fxml);
-                showStatus("UI Error: Missing view file.", ERROR_COLOR);
-                return;
-            }
-
-            FXMLLoader loader = new FXMLLoader(loc);
-            Parent root = loader.load();
-
-
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-
-            Scene scene = new Scene(root);
-            URL css = getClass().getResource("/com/amazi/view/style.css");
-            if (css != null) {
-                scene.getStylesheets().add(css.toExternalForm());
-            }
-
-            stage.setScene(scene);
-            stage.setTitle("AMAZI | " + title);
+            NavigationService.show(stage, view, "AMAZI | " + title);
             stage.centerOnScreen();
-            stage.show();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Scene change failed", e);
             showStatus("Critical Error: Navigation failed.", ERROR_COLOR);
@@ -1,16 +1,16 @@
 package com.amazi.controller;
 
 import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
 import com.amazi.service.DataManager;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -21,13 +21,11 @@ import javafx.stage.Stage;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URL;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class PortfolioController {
+public class PortfolioController implements NavigationService.ViewLifecycle {
 
     private static final Logger LOGGER = Logger.getLogger(PortfolioController.class.getName());
     private static final String STUDENT_NAME_KEY = "Abay Shimelis";
@@ -46,11 +44,13 @@ public class PortfolioController {
     @FXML private TextField organizationField;
     @FXML private ComboBox<String> orgTypeComboBox;
 
+    private String defaultFileLabel;
+
     @FXML
     public void initialize() {
         // Initialize List if present
         if (portfolioListView != null) {
-            loadStudentSubmissions();
+            setupCellFactory();
         }
 
         // Initialize Form if present
@@ -64,6 +64,10 @@ public class PortfolioController {
             submissionDatePicker.setValue(LocalDate.now());
         }
 
+        if (fileNameLabel != null) {
+            defaultFileLabel = fileNameLabel.getText();
+        }
+
         // Initialize Organization Types
         if (orgTypeComboBox != null) {
             orgTypeComboBox.getItems().setAll("Faculty", "Private Company", "Research Lab", "NGO");
@@ -71,6 +75,23 @@ public class PortfolioController {
         }
     }
 
+    // The controller is reused, so each visit reloads the list and starts from an empty form
+    @Override
+    public void onShow() {
+        if (portfolioListView != null) {
+            DataManager.whenSubmissionsReady(this::loadStudentSubmissions);
+        }
+        if (titleField != null) titleField.clear();
+        if (descriptionArea != null) descriptionArea.clear();
+        if (emailField != null) emailField.clear();
+        if (organizationField != null) organizationField.clear();
+        if (courseComboBox != null) courseComboBox.setValue(null);
+        if (assignmentComboBox != null) assignmentComboBox.setValue(null);
+        if (submissionDatePicker != null) submissionDatePicker.setValue(LocalDate.now());
+        if (orgTypeComboBox != null) orgTypeComboBox.setValue("Faculty");
+        if (fileNameLabel != null) fileNameLabel.setText(defaultFileLabel);
+    }
+
     @FXML
     private void handleFileUpload(ActionEvent event) {
         FileChooser fc = new FileChooser();
@@ -104,7 +125,7 @@ public class PortfolioController {
                 submissionDatePicker.getValue() != null ? submissionDatePicker.getValue() : LocalDate.now(),
                 descriptionArea.getText(),
                 fileNameLabel != null ? fileNameLabel.getText() : "No file",
-                "SUBMITTED",
+                SubmissionStatus.SUBMITTED,
                 STUDENT_NAME_KEY
         );
 
@@ -124,41 +145,23 @@ public class PortfolioController {
 
     @FXML
     private void handleBack(ActionEvent event) {
-        switchScene("/com/amazi/view/DashBoard.fxml", "Dashboard", event);
+        switchScene(View.STUDENT_DASHBOARD, "Dashboard", event);
     }
 
-    private void switchScene(String fxmlPath, String windowTitle, ActionEvent event) {
+    private void switchScene(View view, String windowTitle, ActionEvent event) {
         try {
-            URL res = getClass().getResource(fxmlPath);
-            if (res == null) {
-                LOGGER.severe("Path missing: " + fxmlPath);
-                return;
-            }
-
-            Parent root = FXMLLoader.load(res);
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            Scene scene = new Scene(root);
-
-            URL css = getClass().getResource("/com/amazi/view/style.css");
-            if (css != null) scene.getStylesheets().add(css.toExternalForm());
-
-            stage.setScene(scene);
-            stage.setTitle("Student | " + windowTitle);
-            stage.show();
+            NavigationService.show(stage, view, "Student | " + windowTitle);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Navigation Error", e);
         }
     }
 
     private void loadStudentSubmissions() {
-        List<Submission> allData = DataManager.getAllSubmissions();
         ObservableList<Submission> studentData = FXCollections.observableArrayList(
-                allData.stream()
-                        .filter(s -> s.getStudentName().equalsIgnoreCase(STUDENT_NAME_KEY))
-                        .toList()
+                DataManager.getSubmissionsFor(STUDENT_NAME_KEY)
         );
         portfolioListView.setItems(studentData);
-        setupCellFactory();
     }
 
     private void setupCellFactory() {
@@ -187,9 +190,9 @@ public class PortfolioController {
                 } else {
                     title.setText(item.getTitle());
                     info.setText(item.getCourse() + " | " + item.getCompletionDate());
-                    status.setText(item.getStatus());
+                    status.setText(item.getStatus().name());
 
-                    if ("APPROVED".equals(item.getStatus())) {
+                    if (item.getStatus() == SubmissionStatus.APPROVED) {
                         status.setStyle("-fx-background-color: #dcfce7; -fx-text-fill: #166534; -fx-padding: 2 8; -fx-background-radius: 10;");
                     } else {
                         status.setStyle("-fx-background-color: #f1f5f9; -fx-text-fill: #475569; -fx-padding: 2 8; -fx-background-radius: 10;");
@@ -1,22 +1,22 @@
 package com.amazi.controller;
 
 import com.amazi.service.DataManager;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
 import javafx.animation.TranslateTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.shape.Circle;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class RegisterController {
+public class RegisterController implements NavigationService.ViewLifecycle {
     private static final Logger LOGGER = Logger.getLogger(RegisterController.class.getName());
     private static final String ERROR_COLOR = "#fb7185";
     private static final String SUCCESS_COLOR = "#10b981";
@@ -29,6 +29,8 @@ public class RegisterController {
     @FXML private Label messageLabel;
     @FXML private Circle bubble1, bubble2;
 
+    private final List<TranslateTransition> bubbles = new ArrayList<>();
+
     @FXML
     public void initialize() {
         // Initialize Role Selection
@@ -37,7 +39,7 @@ public class RegisterController {
             roleComboBox.setValue("Student");
         }
 
-        // Start Background Animations
+        // Background animations; they only run while the screen is showing
         animate(bubble1, 20);
         animate(bubble2, -20);
     }
@@ -48,10 +50,27 @@ public class RegisterController {
             tt.setByY(dist);
             tt.setCycleCount(TranslateTransition.INDEFINITE);
             tt.setAutoReverse(true);
-            tt.play();
+            bubbles.add(tt);
         }
     }
 
+    // The controller is reused, so every visit starts from an empty form
+    @Override
+    public void onShow() {
+        nameField.clear();
+        usernameField.clear();
+        emailField.clear();
+        passwordField.clear();
+        if (roleComboBox != null) roleComboBox.setValue("Student");
+        if (messageLabel != null) messageLabel.setText("");
+        bubbles.forEach(TranslateTransition::play);
+    }
+
+    @Override
+    public void onHide() {
+        bubbles.forEach(TranslateTransition::pause);
+    }
+
     @FXML
     private void handleRegistration(ActionEvent event) {
         String name = nameField.getText().trim();
@@ -73,8 +92,12 @@ public class RegisterController {
 
         try {
             // 2. Data Persistence
-            // This matches the DataManager method that saves to users.txt
-            DataManager.addUser(name, username, email, password, role);
+            // Password is hashed and saved to users.txt in the background
+            DataManager.addUser(name, username, email, password, role)
+                    .exceptionally(ex -> {
+                        LOGGER.log(Level.SEVERE, "Registration failed", ex);
+                        return null;
+                    });
 
             setStatus("Account created! Redirecting...", SUCCESS_COLOR);
 
@@ -104,26 +127,10 @@ public class RegisterController {
      */
     private void prepareAndNavigate(ActionEvent event) {
         try {
-            URL loc = getClass().getResource("/com/amazi/view/Login.fxml");
-            if (loc == null) {
-                LOGGER.severe("FXML file not found: /com/amazi/view/Login.fxml");
-                return;
-            }
-
-            FXMLLoader loader = new FXMLLoader(loc);
-            Parent root = loader.load();
-
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            Scene scene = new Scene(root);
-
-            // Re-apply style.css to ensure visual consistency
-            URL css = getClass().getResource("/com/amazi/view/style.css");
-            if (css != null) scene.getStylesheets().add(css.toExternalForm());
-
-            stage.setScene(scene);
-            stage.setTitle("AMAZI | Log In");
+            // Login is always cached (it is the first screen), so this is just a scene swap
+            NavigationService.show(stage, View.LOGIN, "AMAZI | Log In");
             stage.centerOnScreen();
-            stage.show();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Navigation failed", e);
             setStatus("Navigation error. Please restart the app.", ERROR_COLOR);
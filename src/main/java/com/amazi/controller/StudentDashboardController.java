@@ -1,16 +1,19 @@
 package com.amazi.controller;
 
 import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import com.amazi.service.AcademicTotals;
 import com.amazi.service.DataManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.amazi.service.Metrics;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
+import com.amazi.service.SubmissionStore;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -21,20 +24,25 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 @SuppressWarnings("all")
-public class StudentDashboardController {
+public class StudentDashboardController implements NavigationService.ViewLifecycle {
 
     private static final Logger LOGGER = Logger.getLogger(StudentDashboardController.class.getName());
     private static final String STUDENT_NAME = "Abay Shimelis";
+    private static final Metrics.Timer REFRESH_TIME = Metrics.timer("dashboard.refresh");
 
     // --- System Settings State ---
     private static boolean showCgpa = true;
@@ -42,7 +50,7 @@ public class StudentDashboardController {
     private static boolean showHistory = true;
 
     @FXML private VBox mainContentArea;
-    @FXML private VBox activityListContainer;
+    @FXML private ListView<Submission> activityList;
     @FXML private ImageView userProfileImage;
     @FXML private Label portfolioScoreLabel;
     @FXML private Label totalCreditsLabel;
@@ -53,17 +61,53 @@ public class StudentDashboardController {
     @FXML private VBox creditHourSection;
     @FXML private VBox historySection;
 
+    private Runnable stopLiveUpdates;
+    // What mainContentArea holds as loaded; the settings panel temporarily replaces it
+    private List<Node> defaultContent = List.of();
+
+    // Rows currently shown, plus the stored state each was rendered from, so a refresh only touches changed rows
+    private final ObservableList<Submission> activityItems = FXCollections.observableArrayList();
+    private final Map<String, SubmissionStore.SubmissionState> renderedRows = new HashMap<>();
+
     @FXML
     public void initialize() {
         applySystemSettings();
-        refreshDashboardData();
+        if (activityList != null) {
+            // Virtualized: only the visible rows get cells, and cells are reused while scrolling
+            activityList.setItems(activityItems);
+            activityList.setCellFactory(list -> new ActivityCell());
+            Label placeholder = new Label("Accessing academic database...");
+            placeholder.getStyleClass().add("loading-text");
+            activityList.setPlaceholder(placeholder);
+        }
+        if (mainContentArea != null) {
+            defaultContent = new ArrayList<>(mainContentArea.getChildren());
+        }
+    }
+
+    @Override
+    public void onShow() {
+        if (mainContentArea != null) {
+            mainContentArea.getChildren().setAll(defaultContent);
+        }
+        applySystemSettings();
+        DataManager.whenSubmissionsReady(this::refreshDashboardData);
 
-        // Live update every 5 seconds to catch new faculty feedback
-        Timeline liveUpdate = new Timeline(new KeyFrame(Duration.seconds(5), event -> {
-            refreshDashboardData();
-        }));
-        liveUpdate.setCycleCount(Timeline.INDEFINITE);
-        liveUpdate.play();
+        // Live updates: DataManager pushes this student's changes as they happen (batched per FX pulse)
+        if (stopLiveUpdates == null) {
+            stopLiveUpdates = DataManager.getEventBus().subscribe(STUDENT_NAME, events -> refreshDashboardData());
+        }
+        // Creating a portfolio entry is the usual next step from here
+        NavigationService.prewarm(View.PORTFOLIO);
+    }
+
+    // The cached dashboard stays alive while other screens show; it stops listening meanwhile
+    @Override
+    public void onHide() {
+        if (stopLiveUpdates != null) {
+            stopLiveUpdates.run();
+            stopLiveUpdates = null;
+        }
     }
 
     // --- SYSTEM SETTINGS CONTROL ---
@@ -119,50 +163,69 @@ public class StudentDashboardController {
 
     // --- REFRESH LOGIC (UPDATED WITH TIMESTAMP FILTERING) ---
     private void refreshDashboardData() {
-        if (activityListContainer == null) return;
+        if (activityList == null) return;
+        long started = REFRESH_TIME.start();
 
         // 1. Get current clear timestamp (Persists after restart)
         long lastClearTime = DataManager.getLastClearTime(STUDENT_NAME);
 
-        List<Submission> all = DataManager.getAllSubmissions();
-        List<Submission> studentRecords = all.stream()
-                .filter(s -> s.getStudentName().trim().equalsIgnoreCase(STUDENT_NAME.trim()))
-                .toList();
-
-        activityListContainer.getChildren().clear();
-
-        double totalGradePoints = 0;
-        int totalCredits = 0;
+        List<Submission> studentRecords = DataManager.getSubmissionsFor(STUDENT_NAME);
+        List<Submission> visible = new ArrayList<>();
 
         for (Submission s : studentRecords) {
-            // A. Academic Logic (Calculated from ALL approved records regardless of history clear)
-            if ("APPROVED".equalsIgnoreCase(s.getStatus())) {
-                try {
-                    int credits = Integer.parseInt(s.getCreditHours() != null ? s.getCreditHours() : "0");
-                    totalCredits += credits;
-                    totalGradePoints += (getGradeValue(s.getGrade()) * credits);
-                } catch (NumberFormatException e) {
-                    LOGGER.log(Level.WARNING, "Invalid credit format for: " + s.getTitle());
-                }
-            }
-
-            // B. History Display Logic
+            // History Display Logic
             // Show only if:
             // 1. Status is NOT "PENDING" (Faculty has graded/feedbacked)
             // 2. The submission was updated AFTER the student last clicked "Clear History"
-            if (!"PENDING".equalsIgnoreCase(s.getStatus())) {
+            if (s.getStatus() != SubmissionStatus.PENDING) {
                 if (s.getLastUpdated() > lastClearTime) {
-                    activityListContainer.getChildren().add(createActivityRow(s));
+                    visible.add(s);
                 }
             }
         }
+        applyActivityDiff(visible);
 
-        // Update Dashboard Cards
-        updateDashboardCards(totalCredits, totalGradePoints);
+        // Academic cards read the running totals kept by DataManager (all approved records, regardless of history clear)
+        AcademicTotals totals = DataManager.getAcademicTotals(STUDENT_NAME);
+        updateDashboardCards(totals.getApprovedCredits(), totals.getGradePoints());
 
-        if (activityListContainer.getChildren().isEmpty()) {
+        if (activityItems.isEmpty()) {
             showStatusMessage("History cleared. New faculty responses will appear here.");
         }
+        REFRESH_TIME.stop(started);
+    }
+
+    /**
+     * Brings the feed in line with the wanted rows by id: dropped rows are removed,
+     * new ones inserted, and a row is replaced only if what it displays changed.
+     * Unchanged rows fire no list change, so their cells are left alone.
+     */
+    private void applyActivityDiff(List<Submission> wanted) {
+        Set<String> wantedIds = new HashSet<>();
+        for (Submission s : wanted) wantedIds.add(s.getId());
+        activityItems.removeIf(s -> !wantedIds.contains(s.getId()));
+        renderedRows.keySet().retainAll(wantedIds);
+
+        for (int i = 0; i < wanted.size(); i++) {
+            Submission s = wanted.get(i);
+            // Titles are never edited in place, so the status, grade and feedback in the state cover the rest of the row
+            SubmissionStore.SubmissionState rendered = DataManager.getSubmissionState(s.getId());
+            if (i < activityItems.size() && activityItems.get(i).getId().equals(s.getId())) {
+                if (activityItems.get(i) != s || !Objects.equals(rendered, renderedRows.get(s.getId()))) {
+                    activityItems.set(i, s);
+                }
+            } else {
+                // Not at this position: either new, or moved; drop a stale copy further down first
+                for (int j = i + 1; j < activityItems.size(); j++) {
+                    if (activityItems.get(j).getId().equals(s.getId())) {
+                        activityItems.remove(j);
+                        break;
+                    }
+                }
+                activityItems.add(i, s);
+            }
+            renderedRows.put(s.getId(), rendered);
+        }
     }
 
     private void updateDashboardCards(int totalCredits, double totalGradePoints) {
@@ -184,64 +247,61 @@ public class StudentDashboardController {
         }
     }
 
-    private double getGradeValue(String grade) {
-        if (grade == null) return 0.0;
-        return switch (grade.toUpperCase().trim()) {
-            case "A+", "A" -> 4.0;
-            case "B+" -> 3.5;
-            case "B" -> 3.0;
-            case "C+" -> 2.5;
-            case "C" -> 2.0;
-            case "D" -> 1.0;
-            default -> 0.0;
-        };
-    }
-
-    private HBox createActivityRow(Submission s) {
-        HBox row = new HBox(20);
-        row.getStyleClass().add("activity-row");
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.setPadding(new javafx.geometry.Insets(12, 20, 12, 20));
-
-        VBox details = new VBox(5);
-        Label title = new Label(s.getTitle());
-        title.setStyle("-fx-font-weight: bold; -fx-text-fill: #1e293b; -fx-font-size: 14px;");
-
-        String feedbackText = (s.getFeedback() != null && !s.getFeedback().isEmpty())
-                ? "Faculty: " + s.getFeedback() : "Status: " + s.getStatus();
-
-        Label commentLabel = new Label(feedbackText);
-        commentLabel.setStyle("-fx-text-fill: #64748b; -fx-font-size: 12px;");
-        commentLabel.setWrapText(true);
-        commentLabel.setMaxWidth(380);
-
-        details.getChildren().addAll(title, commentLabel);
-
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        VBox resBox = new VBox(2);
-        resBox.setAlignment(Pos.CENTER);
-        Label head = new Label("RESULT");
-        head.setStyle("-fx-font-size: 9px; -fx-font-weight: bold; -fx-text-fill: #94a3b8;");
-        Label gradeBadge = new Label(s.getGrade() != null ? s.getGrade() : "P");
-
-        // UI Styling for badges
-        String badgeColor = "#f0fdf4"; String textColor = "#16a34a";
-        if ("REJECTED".equalsIgnoreCase(s.getStatus())) { badgeColor = "#fef2f2"; textColor = "#dc2626"; }
-        if ("REVISION".equalsIgnoreCase(s.getStatus())) { badgeColor = "#fffbeb"; textColor = "#d97706"; }
-
-        gradeBadge.setStyle("-fx-background-color: "+badgeColor+"; -fx-text-fill: "+textColor+"; -fx-padding: 4 10; -fx-background-radius: 5; -fx-font-weight: bold;");
+    /** One feed row; the node tree is built once per cell and only its text and style classes change. */
+    private static final class ActivityCell extends ListCell<Submission> {
+        private final HBox row = new HBox(20);
+        private final Label title = new Label();
+        private final Label commentLabel = new Label();
+        private final Label gradeBadge = new Label();
+
+        ActivityCell() {
+            row.getStyleClass().add("activity-row");
+            row.setAlignment(Pos.CENTER_LEFT);
+
+            title.getStyleClass().add("activity-title");
+            commentLabel.getStyleClass().add("activity-comment");
+            commentLabel.setWrapText(true);
+            commentLabel.setMaxWidth(380);
+            VBox details = new VBox(5, title, commentLabel);
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            Label head = new Label("RESULT");
+            head.getStyleClass().add("activity-result-head");
+            gradeBadge.getStyleClass().add("grade-badge");
+            VBox resBox = new VBox(2, head, gradeBadge);
+            resBox.setAlignment(Pos.CENTER);
+
+            row.getChildren().addAll(details, spacer, resBox);
+            getStyleClass().add("activity-cell");
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
 
-        resBox.getChildren().addAll(head, gradeBadge);
-        row.getChildren().addAll(details, spacer, resBox);
-        return row;
+        @Override
+        protected void updateItem(Submission s, boolean empty) {
+            super.updateItem(s, empty);
+            if (empty || s == null) {
+                setGraphic(null);
+                return;
+            }
+            title.setText(s.getTitle());
+            commentLabel.setText((s.getFeedback() != null && !s.getFeedback().isEmpty())
+                    ? "Faculty: " + s.getFeedback() : "Status: " + s.getStatus());
+            gradeBadge.setText(s.getGrade().label());
+
+            // UI Styling for badges
+            gradeBadge.getStyleClass().removeAll("grade-badge-rejected", "grade-badge-revision");
+            if (s.getStatus() == SubmissionStatus.REJECTED) gradeBadge.getStyleClass().add("grade-badge-rejected");
+            if (s.getStatus() == SubmissionStatus.REVISION) gradeBadge.getStyleClass().add("grade-badge-revision");
+            setGraphic(row);
+        }
     }
 
     private void showStatusMessage(String message) {
         Label msg = new Label(message);
-        msg.setStyle("-fx-text-fill: #94a3b8; -fx-font-style: italic; -fx-padding: 20;");
-        activityListContainer.getChildren().add(msg);
+        msg.getStyleClass().add("activity-status-message");
+        activityList.setPlaceholder(msg);
     }
 
     // --- UPDATED CLEAR HISTORY ---
@@ -268,22 +328,16 @@ public class StudentDashboardController {
         }
     }
 
-    private void navigateTo(String path, String title, ActionEvent event) {
+    private void navigateTo(View view, String title, ActionEvent event) {
         try {
-            Parent root = FXMLLoader.load(getClass().getResource(path));
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            Scene scene = new Scene(root);
-            URL css = getClass().getResource("/com/amazi/view/style.css");
-            if (css != null) scene.getStylesheets().add(css.toExternalForm());
-            stage.setScene(scene);
-            stage.setTitle("STUDENT | " + title);
-            stage.show();
+            NavigationService.show(stage, view, "STUDENT | " + title);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Navigation failed", e);
         }
     }
 
-    @FXML private void handleDashboardHome(ActionEvent e) { navigateTo("/com/amazi/view/DashBoard.fxml", "Dashboard", e); }
-    @FXML private void handleCreatePortfolio(ActionEvent e) { navigateTo("/com/amazi/view/Portfolio.fxml", "Portfolio", e); }
-    @FXML private void handleLogout(ActionEvent e) { navigateTo("/com/amazi/view/Login.fxml", "Sign-In", e); }
+    @FXML private void handleDashboardHome(ActionEvent e) { navigateTo(View.STUDENT_DASHBOARD, "Dashboard", e); }
+    @FXML private void handleCreatePortfolio(ActionEvent e) { navigateTo(View.PORTFOLIO, "Portfolio", e); }
+    @FXML private void handleLogout(ActionEvent e) { navigateTo(View.LOGIN, "Sign-In", e); }
 }
\ No newline at end of file
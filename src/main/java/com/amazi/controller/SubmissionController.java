@@ -2,17 +2,15 @@ package com.amazi.controller;
 
 import com.amazi.model.Submission;
 import com.amazi.service.DataManager;
+import com.amazi.service.NavigationService;
+import com.amazi.service.NavigationService.View;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import java.io.IOException;
-import java.net.URL;
 
 public class SubmissionController {
 
@@ -57,7 +55,7 @@ public class SubmissionController {
 
     @FXML
     private void handleBack(ActionEvent event) {
-        navigateTo("/com/amazi/view/DashBoard.fxml", "Dashboard", event);
+        navigateTo(View.STUDENT_DASHBOARD, "Dashboard", event);
     }
 
     @FXML
@@ -80,17 +78,10 @@ public class SubmissionController {
         alert.showAndWait();
     }
 
-    private void navigateTo(String fxmlPath, String title, ActionEvent event) {
+    private void navigateTo(View view, String title, ActionEvent event) {
         try {
-            URL fxmlUrl = getClass().getResource(fxmlPath);
-            if (fxmlUrl == null) {
-                System.err.println("FXML file not found: " + fxmlPath);
-                return;
-            }
-            Parent root = FXMLLoader.load(fxmlUrl);
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root, 850, 700));
-            stage.setTitle(title);
+            NavigationService.show(stage, view, title);
             stage.centerOnScreen();
         } catch (IOException e) {
             e.printStackTrace();
@@ -0,0 +1,45 @@
+package com.amazi.model;
+
+import java.util.Locale;
+
+/**
+ * Letter grade on the institution's four-point scale. NONE stands for a
+ * submission that hasn't been graded yet and is written as "N/A".
+ */
+public enum Grade {
+    A_PLUS("A+", 4.0), A("A", 4.0), B_PLUS("B+", 3.5), B("B", 3.0),
+    C_PLUS("C+", 2.5), C("C", 2.0), D("D", 1.0), F("F", 0.0), NONE("N/A", 0.0);
+
+    private static final Grade[] VALUES = values();
+
+    private final String label;
+    private final double points;
+
+    Grade(String label, double points) {
+        this.label = label;
+        this.points = points;
+    }
+
+    public String label() { return label; }
+    public double points() { return points; }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    /** @return the grade with this label in any case, NONE for a blank value, or null if it isn't a grade */
+    public static Grade parse(String text) {
+        if (text == null || text.isBlank()) return NONE;
+        String label = text.trim().toUpperCase(Locale.ROOT);
+        for (Grade grade : VALUES) {
+            if (grade.label.equals(label)) return grade;
+        }
+        return null;
+    }
+
+    /** Same as {@link #values()} without the array copy. */
+    public static Grade byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,73 @@
+package com.amazi.model;
+
+import java.util.Objects;
+
+/**
+ * Canonicalizes values that repeat across many records, such as student
+ * names, courses and organizations, so a million loaded rows share a few
+ * thousand String instances instead of holding a copy each.
+ *
+ * Each pool is a fixed-size, direct-mapped table: a value goes into the slot
+ * picked by its hash and simply replaces whatever was there. Memory is
+ * bounded by the slot count, lookups never lock, and a collision only costs
+ * a missed dedup. Long values are passed through untouched since they are
+ * rarely repeated. Racing threads can overwrite each other's slots, which
+ * is harmless for the same reason.
+ */
+public final class StringPool {
+
+    public static final StringPool STUDENT_NAMES = new StringPool(1 << 14, 128);
+    public static final StringPool COURSES = new StringPool(1 << 10, 128);
+    public static final StringPool ORGANIZATIONS = new StringPool(1 << 12, 128);
+    public static final StringPool EMAILS = new StringPool(1 << 12, 128);
+    // Only short, canned comments ("No feedback", "Good work") repeat
+    public static final StringPool FEEDBACK = new StringPool(1 << 10, 48);
+
+    private final String[] slots;
+    private final int mask;
+    private final int maxLength;
+
+    /** @param capacity number of slots, a power of two */
+    public StringPool(int capacity, int maxLength) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        this.slots = new String[capacity];
+        this.mask = capacity - 1;
+        this.maxLength = maxLength;
+    }
+
+    /** @return the pooled instance equal to value, after pooling value if there was none */
+    public String intern(String value) {
+        if (value == null || value.length() > maxLength) return value;
+        int slot = slot(value.hashCode());
+        String pooled = slots[slot];
+        if (Objects.equals(pooled, value)) return pooled;
+        slots[slot] = value;
+        return value;
+    }
+
+    /**
+     * The value currently held for a hash, for callers that want to compare
+     * it against undecoded bytes before building a String. The hash is the
+     * one {@link String#hashCode()} would give.
+     */
+    public String candidate(int hash) {
+        return slots[slot(hash)];
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /** Number of occupied slots, i.e. distinct values currently pooled. */
+    public int size() {
+        int size = 0;
+        for (String s : slots) {
+            if (s != null) size++;
+        }
+        return size;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
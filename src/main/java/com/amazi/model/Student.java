@@ -29,7 +29,7 @@ public class Student {
     public String getId() { return id; }
     public String getFullName() { return fullName; }
     public String getEmail() { return email; }
-    public String getDepartment() { return department;
+    public String getDepartment() { return department; }
     public String getPassword() { return password; }
     public List<Submission> getSubmissions() { return submissions; }
     public boolean isActive() { return active; }
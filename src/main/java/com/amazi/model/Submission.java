@@ -1,6 +1,7 @@
 package com.amazi.model;
 
 import java.time.LocalDate;
+import java.util.Objects;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
@@ -15,37 +16,44 @@ public class Submission {
     private String description;
     private String filePath;
     private LocalDate completionDate;
-    private String status;
-    private String grade;
+    private SubmissionStatus status;
+    private Grade grade;
     private String feedback;
     private boolean viewedByStudent;
     private String email;
     private String organizationName;
-    private String creditHours;
+    private int creditHours;
     private long lastUpdated;
 
     public Submission(String title, String course, String assignment,
                       String category, LocalDate date, String desc,
-                      String file, String status, String studentName) {
+                      String file, SubmissionStatus status, String studentName) {
+        this(UUID.randomUUID().toString(), title, course, assignment, category, date, desc, file, status, studentName);
+    }
+
+    // Used when restoring a persisted record so its identity survives restarts
+    public Submission(String id, String title, String course, String assignment,
+                      String category, LocalDate date, String desc,
+                      String file, SubmissionStatus status, String studentName) {
 
-        this.id = UUID.randomUUID().toString();
+        this.id = (id == null || id.isEmpty()) ? UUID.randomUUID().toString() : id;
         this.title = title;
-        this.course = course;
+        this.course = StringPool.COURSES.intern(course);
         this.assignment = assignment;
         this.category = category;
         this.completionDate = date;
         this.description = desc;
         this.filePath = file;
-        this.status = status;
-        this.studentName = studentName;
-        this.grade = "N/A";
+        this.status = Objects.requireNonNullElse(status, SubmissionStatus.PENDING);
+        this.studentName = StringPool.STUDENT_NAMES.intern(studentName);
+        this.grade = Grade.NONE;
         this.feedback = "";
         this.viewedByStudent = false;
 
         // Initialize new fields
         this.email = "";
         this.organizationName = "";
-        this.creditHours = "0";
+        this.creditHours = 0;
 
         // Default timestamp to current time upon creation
         this.lastUpdated = System.currentTimeMillis();
@@ -61,20 +69,23 @@ public class Submission {
     }
 
     // --- NEW GETTERS & SETTERS FOR CREDITS ---
-    public String getCreditHours() {
+    public int getCreditHours() {
         return creditHours;
     }
 
-    public void setCreditHours(String creditHours) {
+    public void setCreditHours(int creditHours) {
+        if (creditHours < 0) throw new IllegalArgumentException("creditHours is negative: " + creditHours);
         this.creditHours = creditHours;
     }
 
     // --- EXISTING FIELDS ---
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) { this.email = StringPool.EMAILS.intern(email); }
 
     public String getOrganizationName() { return organizationName; }
-    public void setOrganizationName(String organizationName) { this.organizationName = organizationName; }
+    public void setOrganizationName(String organizationName) {
+        this.organizationName = StringPool.ORGANIZATIONS.intern(organizationName);
+    }
 
     // --- COMPATIBILITY METHOD ---
     public String getFacultyComment() { return this.feedback; }
@@ -87,29 +98,29 @@ public class Submission {
     public String getCategory() { return category; }
     public String getDescription() { return description; }
     public String getFilePath() { return filePath; }
-    public String getStatus() { return status; }
+    public SubmissionStatus getStatus() { return status; }
     public String getStudentName() { return studentName; }
-    public String getGrade() { return grade; }
+    public Grade getGrade() { return grade; }
     public String getFeedback() { return feedback; }
     public LocalDate getCompletionDate() { return completionDate; }
     public boolean isViewedByStudent() { return viewedByStudent; }
 
     // --- SETTERS ---
     public void setTitle(String title)           { this.title = title; }
-    public void setCourse(String course)         { this.course = course; }
+    public void setCourse(String course)         { this.course = StringPool.COURSES.intern(course); }
     public void setAssignment(String assignment) { this.assignment = assignment; }
     public void setCategory(String category)     { this.category = category; }
     public void setDescription(String desc)      { this.description = desc; }
     public void setFilePath(String path)         { this.filePath = path; }
 
 
-    public void setStatus(String status) {
-        this.status = status;
+    public void setStatus(SubmissionStatus status) {
+        this.status = Objects.requireNonNull(status, "status");
         this.lastUpdated = System.currentTimeMillis();
     }
 
-    public void setGrade(String grade)           { this.grade = grade; }
-    public void setFeedback(String feedback)     { this.feedback = feedback; }
+    public void setGrade(Grade grade)            { this.grade = Objects.requireNonNullElse(grade, Grade.NONE); }
+    public void setFeedback(String feedback)     { this.feedback = StringPool.FEEDBACK.intern(feedback); }
     public void setViewedByStudent(boolean v)    { this.viewedByStudent = v; }
     public void setCompletionDate(LocalDate d)   { this.completionDate = d; }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.amazi.model;
+
+import java.util.Locale;
+
+/**
+ * Review state of a submission. Stored by name; older files that spell a
+ * status in another case ("Pending") still parse.
+ */
+public enum SubmissionStatus {
+    DRAFT, SUBMITTED, PENDING, APPROVED, REJECTED, REVISION;
+
+    private static final SubmissionStatus[] VALUES = values();
+
+    /** @return the status with this name in any case, or null if there is none */
+    public static SubmissionStatus parse(String text) {
+        if (text == null) return null;
+        String name = text.trim().toUpperCase(Locale.ROOT);
+        for (SubmissionStatus status : VALUES) {
+            if (status.name().equals(name)) return status;
+        }
+        return null;
+    }
+
+    /** Same as {@link #values()} without the array copy. */
+    public static SubmissionStatus byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
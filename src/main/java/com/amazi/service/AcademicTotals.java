@@ -0,0 +1,63 @@
+package com.amazi.service;
+
+import com.amazi.model.SubmissionStatus;
+
+/**
+ * Running credit and grade-point totals for one student. The store adjusts
+ * these by a record's old and new contribution on every change instead of
+ * re-summing all records.
+ */
+public class AcademicTotals {
+
+    private int approvedCredits;
+    private double gradePoints;
+    private final int[] countByStatus = new int[SubmissionStatus.values().length];
+    private int records;
+
+    AcademicTotals() {}
+
+    private AcademicTotals(AcademicTotals source) {
+        this.approvedCredits = source.approvedCredits;
+        this.gradePoints = source.gradePoints;
+        System.arraycopy(source.countByStatus, 0, countByStatus, 0, countByStatus.length);
+        this.records = source.records;
+    }
+
+    public int getApprovedCredits() { return approvedCredits; }
+    public double getGradePoints() { return gradePoints; }
+
+    public double getCgpa() {
+        return approvedCredits > 0 ? gradePoints / approvedCredits : 0.0;
+    }
+
+    public int getCount(SubmissionStatus status) {
+        return countByStatus[status.ordinal()];
+    }
+
+    public boolean isEmpty() {
+        return records == 0;
+    }
+
+    AcademicTotals copy() {
+        return new AcademicTotals(this);
+    }
+
+    void add(SubmissionStore.SubmissionState state) {
+        apply(state, 1);
+    }
+
+    void subtract(SubmissionStore.SubmissionState state) {
+        apply(state, -1);
+    }
+
+    private void apply(SubmissionStore.SubmissionState state, int sign) {
+        countByStatus[state.status().ordinal()] += sign;
+        records += sign;
+
+        // Only approved work counts towards credits and CGPA
+        if (state.status() == SubmissionStatus.APPROVED) {
+            approvedCredits += sign * state.creditHours();
+            gradePoints += sign * state.grade().points() * state.creditHours();
+        }
+    }
+}
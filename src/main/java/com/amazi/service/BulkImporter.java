@@ -0,0 +1,413 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Parsing half of the bulk import: reads a CSV (RFC 4180, header row) or JSON
+ * Lines file, as written by {@link DataExporter}, and turns each record into a
+ * candidate user or submission. Record boundaries are found in one cheap
+ * sequential pass; the records are then parsed and validated in parallel
+ * chunks. Checking for duplicates and storing the batch is left to
+ * {@link DataManager}, which owns the indexes.
+ */
+public final class BulkImporter {
+
+    private static final int CHUNK_SIZE = 2048;
+
+    private static final List<String> USER_COLUMNS = List.of("name", "username", "email", "password", "role");
+    private static final List<String> SUBMISSION_COLUMNS = List.of("id", "student", "title", "course", "assignment",
+            "category", "organization", "email", "status", "grade", "creditHours", "feedback", "description",
+            "completionDate", "lastUpdated");
+
+    /** A rejected row; line is the 1-based line the record starts on. */
+    public record RowError(int line, String message) {}
+
+    /** @param needPassword imported accounts that had no password and must be given one by an admin */
+    public record ImportResult(int imported, List<RowError> errors, int needPassword) {
+        public ImportResult(int imported, List<RowError> errors) {
+            this(imported, errors, 0);
+        }
+
+        public String summary() {
+            int total = imported + errors.size();
+            String result = errors.isEmpty()
+                    ? "Imported " + imported + " records"
+                    : "Imported " + imported + " of " + total + " records; " + errors.size() + " rejected";
+            return needPassword == 0 ? result : result + "; " + needPassword + " need a password set";
+        }
+    }
+
+    /**
+     * A parsed account before its id is assigned. The password may still be
+     * plaintext, or null when the file has none, e.g. a directory export.
+     */
+    record UserRow(int line, String name, String username, String email, String password, String role) {}
+
+    record SubmissionRow(int line, Submission submission) {}
+
+    /** Per-record outcome: exactly one of value and error is set. */
+    record Parsed<T>(int line, T value, String error) {}
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        /** @throws IllegalArgumentException with a user-facing message if the row is invalid */
+        T map(int line, String[] values);
+    }
+
+    private BulkImporter() {}
+
+    static List<Parsed<UserRow>> parseUsers(Path file) throws IOException {
+        return parse(file, USER_COLUMNS, (line, v) -> {
+            String name = required(v[0], "name");
+            String username = required(v[1], "username");
+            String email = required(v[2], "email");
+            if (email.indexOf('@') <= 0) throw new IllegalArgumentException("invalid email: " + email);
+            String password = blankToNull(v[3]);
+            return new UserRow(line, name, username, email, password, role(v[4]));
+        });
+    }
+
+    static List<Parsed<SubmissionRow>> parseSubmissions(Path file) throws IOException {
+        return parse(file, SUBMISSION_COLUMNS, (line, v) -> {
+            String student = required(v[1], "student");
+            String title = required(v[2], "title");
+            Submission s = new Submission(blankToNull(v[0]), title, orDefault(v[3], ""),
+                    orDefault(v[4], "Project"), orDefault(v[5], "General"), date(v[13]),
+                    orDefault(v[12], "No description"), "None", status(v[8]), student);
+            s.setOrganizationName(orDefault(v[6], ""));
+            s.setEmail(orDefault(v[7], ""));
+            s.setGrade(grade(v[9]));
+            s.setCreditHours(credits(v[10]));
+            s.setFeedback(orDefault(v[11], ""));
+            s.setLastUpdated(v[14] == null || v[14].isBlank() ? System.currentTimeMillis() : number(v[14], "lastUpdated"));
+            return new SubmissionRow(line, s);
+        });
+    }
+
+    // --- FIELD RULES ---
+
+    private static String required(String value, String column) {
+        if (value == null || value.isBlank()) throw new IllegalArgumentException("missing " + column);
+        return value.trim();
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value.trim();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String role(String value) {
+        if (value == null || value.isBlank()) return "Student";
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "student" -> "Student";
+            case "faculty", "instructor" -> "Faculty";
+            case "admin" -> "Admin";
+            case "pending" -> "Pending";
+            default -> throw new IllegalArgumentException("unknown role: " + value.trim());
+        };
+    }
+
+    private static LocalDate date(String value) {
+        if (value == null || value.isBlank()) return LocalDate.now();
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("completionDate is not yyyy-mm-dd: " + value.trim());
+        }
+    }
+
+    private static SubmissionStatus status(String value) {
+        if (value == null || value.isBlank()) return SubmissionStatus.PENDING;
+        SubmissionStatus status = SubmissionStatus.parse(value);
+        if (status == null) throw new IllegalArgumentException("unknown status: " + value.trim());
+        return status;
+    }
+
+    private static Grade grade(String value) {
+        Grade grade = Grade.parse(value);
+        if (grade == null) throw new IllegalArgumentException("unknown grade: " + value.trim());
+        return grade;
+    }
+
+    private static int credits(String value) {
+        if (value == null || value.isBlank()) return 0;
+        long credits = number(value, "creditHours");
+        if (credits < 0 || credits > Integer.MAX_VALUE) throw new IllegalArgumentException("creditHours is out of range");
+        return (int) credits;
+    }
+
+    private static long number(String value, String column) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a whole number: " + value.trim());
+        }
+    }
+
+    // --- RECORD PARSING ---
+
+    /** A record's character range in the file and the line it starts on. */
+    private record Span(int start, int end, int line) {}
+
+    private static <T> List<Parsed<T>> parse(Path file, List<String> columns, RowMapper<T> mapper) throws IOException {
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        // Spreadsheet tools often save CSV with a byte-order mark
+        String text = content.startsWith("\uFEFF") ? content.substring(1) : content;
+        boolean csv = DataExporter.Format.forFile(file) == DataExporter.Format.CSV;
+        List<Span> spans = csv ? csvRecords(text) : lines(text);
+
+        int[] columnIndex;
+        int first = 0;
+        if (csv) {
+            if (spans.isEmpty()) return List.of();
+            columnIndex = headerIndex(csvFields(text, spans.get(0)), columns);
+            first = 1;
+        } else {
+            columnIndex = null;
+        }
+
+        int records = spans.size() - first;
+        int chunks = (records + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int offset = first;
+        List<List<Parsed<T>>> parsedChunks = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> {
+                    int from = offset + c * CHUNK_SIZE;
+                    int to = Math.min(spans.size(), from + CHUNK_SIZE);
+                    List<Parsed<T>> out = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        out.add(parseRecord(text, spans.get(i), csv, columns, columnIndex, mapper));
+                    }
+                    return out;
+                })
+                .toList();
+
+        List<Parsed<T>> all = new ArrayList<>(records);
+        parsedChunks.forEach(all::addAll);
+        return all;
+    }
+
+    private static <T> Parsed<T> parseRecord(String text, Span span, boolean csv, List<String> columns,
+                                             int[] columnIndex, RowMapper<T> mapper) {
+        try {
+            String[] values = new String[columns.size()];
+            if (csv) {
+                List<String> fields = csvFields(text, span);
+                for (int c = 0; c < values.length; c++) {
+                    int i = columnIndex[c];
+                    values[c] = i >= 0 && i < fields.size() ? fields.get(i) : null;
+                }
+            } else {
+                Map<String, String> object = JsonLine.parse(text, span.start(), span.end());
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = object.get(columns.get(c).toLowerCase(Locale.ROOT));
+                }
+            }
+            return new Parsed<>(span.line(), mapper.map(span.line(), values), null);
+        } catch (IllegalArgumentException e) {
+            return new Parsed<>(span.line(), null, e.getMessage());
+        }
+    }
+
+    private static int[] headerIndex(List<String> header, List<String> columns) throws IOException {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byName.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] index = new int[columns.size()];
+        boolean any = false;
+        for (int c = 0; c < index.length; c++) {
+            index[c] = byName.getOrDefault(columns.get(c).toLowerCase(Locale.ROOT), -1);
+            any |= index[c] >= 0;
+        }
+        if (!any) throw new IOException("The header row has none of the expected columns: " + columns);
+        return index;
+    }
+
+    // Splits on line breaks outside quotes, so quoted fields may span lines
+    private static List<Span> csvRecords(String text) {
+        List<Span> spans = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        int line = 1;
+        int startLine = 1;
+        for (int i = 0; i <= text.length(); i++) {
+            char ch = i < text.length() ? text.charAt(i) : '\n';
+            if (ch == '"') {
+                quoted = !quoted;
+            } else if (ch == '\n' && (!quoted || i == text.length())) {
+                int end = i > start && text.charAt(i - 1) == '\r' ? i - 1 : i;
+                if (end > start) spans.add(new Span(start, end, startLine));
+                start = i + 1;
+                startLine = line + 1;
+            }
+            if (ch == '\n') line++;
+        }
+        return spans;
+    }
+
+    private static List<Span> lines(String text) {
+        List<Span> spans = new ArrayList<>();
+        int start = 0;
+        int line = 1;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == '\n') {
+                int end = i > start && text.charAt(i - 1) == '\r' ? i - 1 : i;
+                if (!isBlank(text, start, end)) spans.add(new Span(start, end, line));
+                start = i + 1;
+                line++;
+            }
+        }
+        return spans;
+    }
+
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static List<String> csvFields(String text, Span span) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = span.start();
+        int end = span.end();
+        while (true) {
+            field.setLength(0);
+            if (i < end && text.charAt(i) == '"') {
+                i++;
+                while (i < end) {
+                    char ch = text.charAt(i++);
+                    if (ch == '"') {
+                        if (i < end && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                }
+                // Anything between the closing quote and the next comma is kept, as lenient readers do
+                while (i < end && text.charAt(i) != ',') field.append(text.charAt(i++));
+            } else {
+                while (i < end && text.charAt(i) != ',') field.append(text.charAt(i++));
+            }
+            fields.add(field.toString());
+            if (i >= end) return fields;
+            i++; // the comma
+        }
+    }
+
+    /** Just enough JSON for one flat object per line: string, number, boolean and null values. */
+    private static final class JsonLine {
+        private final String text;
+        private final int end;
+        private int pos;
+
+        private JsonLine(String text, int start, int end) {
+            this.text = text;
+            this.pos = start;
+            this.end = end;
+        }
+
+        static Map<String, String> parse(String text, int start, int end) {
+            JsonLine p = new JsonLine(text, start, end);
+            Map<String, String> object = new HashMap<>();
+            p.expect('{');
+            if (p.peek() == '}') {
+                p.pos++;
+            } else {
+                do {
+                    String key = p.string();
+                    p.expect(':');
+                    object.put(key.toLowerCase(Locale.ROOT), p.value());
+                } while (p.next(',', '}') == ',');
+            }
+            p.skipSpace();
+            if (p.pos != end) throw new IllegalArgumentException("unexpected text after the JSON object");
+            return object;
+        }
+
+        private String value() {
+            char ch = peek();
+            if (ch == '"') return string();
+            if (ch == '{' || ch == '[') throw new IllegalArgumentException("nested JSON values are not supported");
+            int start = pos;
+            while (pos < end && ",} \t".indexOf(text.charAt(pos)) < 0) pos++;
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) throw new IllegalArgumentException("malformed JSON at column " + (start + 1));
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (pos < end) {
+                char ch = text.charAt(pos++);
+                if (ch == '"') return out.toString();
+                if (ch != '\\') {
+                    out.append(ch);
+                    continue;
+                }
+                if (pos >= end) break;
+                char esc = text.charAt(pos++);
+                switch (esc) {
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > end) throw new IllegalArgumentException("truncated \\u escape");
+                        out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> out.append(esc);
+                }
+            }
+            throw new IllegalArgumentException("unterminated JSON string");
+        }
+
+        private char peek() {
+            skipSpace();
+            if (pos >= end) throw new IllegalArgumentException("unexpected end of JSON line");
+            return text.charAt(pos);
+        }
+
+        private void expect(char ch) {
+            if (peek() != ch) throw new IllegalArgumentException("expected '" + ch + "' in JSON line");
+            pos++;
+        }
+
+        private char next(char a, char b) {
+            char ch = peek();
+            if (ch != a && ch != b) throw new IllegalArgumentException("expected '" + a + "' or '" + b + "' in JSON line");
+            pos++;
+            return ch;
+        }
+
+        private void skipSpace() {
+            while (pos < end && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+    }
+}
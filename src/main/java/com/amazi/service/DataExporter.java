@@ -0,0 +1,262 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+import com.amazi.model.User;
+import javafx.concurrent.Task;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes users or submissions to CSV (RFC 4180) or JSON Lines on a background
+ * thread. Records are streamed one by one through a buffered UTF-8 writer on a
+ * FileChannel, so memory use doesn't grow with the export size.
+ *
+ * Each export is a {@link Task}: bind its progress to the UI and call
+ * cancel() to stop it. Output goes to a temp file next to the target and is
+ * only moved into place once complete, so a cancelled or failed export never
+ * leaves a truncated file behind.
+ *
+ * The caller passes a snapshot list taken on the FX thread. Field values are
+ * read on the export thread, so a record edited mid-export may show either
+ * its old or new value.
+ */
+public final class DataExporter {
+
+    private static final Logger LOGGER = Logger.getLogger(DataExporter.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Progress callbacks hop to the FX thread; there's no point doing one per row
+    private static final int PROGRESS_STEP = 512;
+
+    public enum Format {
+        CSV("csv"), JSONL("jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /** Picks the format from the file name, defaulting to CSV. */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".jsonl") || name.endsWith(".json") ? JSONL : CSV;
+        }
+    }
+
+    /** One exported field: header/key name, value accessor and whether JSON should see it as a number. */
+    private record Column<T>(String name, Function<T, String> value, boolean numeric) {
+        static <T> Column<T> text(String name, Function<T, String> value) {
+            return new Column<>(name, value, false);
+        }
+
+        static <T> Column<T> number(String name, Function<T, String> value) {
+            return new Column<>(name, value, true);
+        }
+    }
+
+    // The password column is deliberately left out; re-importing creates the accounts without one
+    private static final List<Column<User>> USER_COLUMNS = List.of(
+            Column.number("id", u -> String.valueOf(u.getUserID())),
+            Column.text("name", User::getName),
+            Column.text("username", User::getUsername),
+            Column.text("email", User::getEmail),
+            Column.text("role", User::getRole));
+
+    private static final List<Column<Submission>> SUBMISSION_COLUMNS = List.of(
+            Column.text("id", Submission::getId),
+            Column.text("student", Submission::getStudentName),
+            Column.text("title", Submission::getTitle),
+            Column.text("course", Submission::getCourse),
+            Column.text("assignment", Submission::getAssignment),
+            Column.text("category", Submission::getCategory),
+            Column.text("organization", Submission::getOrganizationName),
+            Column.text("email", Submission::getEmail),
+            Column.text("status", s -> s.getStatus().name()),
+            Column.text("grade", s -> s.getGrade().label()),
+            Column.number("creditHours", s -> String.valueOf(s.getCreditHours())),
+            Column.text("feedback", Submission::getFeedback),
+            Column.text("description", Submission::getDescription),
+            Column.text("completionDate", s -> s.getCompletionDate() == null ? null : s.getCompletionDate().toString()),
+            Column.number("lastUpdated", s -> String.valueOf(s.getLastUpdated())));
+
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "data-export");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private DataExporter() {}
+
+    /** Starts exporting the given users; the task's value is the number of rows written. */
+    public static Task<Integer> exportUsers(List<User> users, Path target, Format format) {
+        return start(new ExportTask<>(users, USER_COLUMNS, target, format));
+    }
+
+    /** Starts exporting the given submissions, including grades, credits and feedback. */
+    public static Task<Integer> exportSubmissions(List<Submission> submissions, Path target, Format format) {
+        return start(new ExportTask<>(submissions, SUBMISSION_COLUMNS, target, format));
+    }
+
+    private static <T> Task<Integer> start(ExportTask<T> task) {
+        worker.execute(task);
+        return task;
+    }
+
+    private static final class ExportTask<T> extends Task<Integer> {
+        private final List<T> rows;
+        private final List<Column<T>> columns;
+        private final Path target;
+        private final Format format;
+
+        ExportTask(List<T> rows, List<Column<T>> columns, Path target, Format format) {
+            this.rows = rows;
+            this.columns = columns;
+            this.target = target;
+            this.format = format;
+        }
+
+        @Override
+        protected Integer call() throws IOException {
+            Path dir = target.toAbsolutePath().getParent();
+            Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".part");
+            boolean committed = false;
+            try {
+                int total = rows.size();
+                updateMessage("Exporting " + total + " records…");
+                updateProgress(0, total);
+                StringBuilder line = new StringBuilder(256);
+
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                     Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE)) {
+                    if (format == Format.CSV) {
+                        writeCsvHeader(line);
+                        out.append(line);
+                    }
+                    for (int i = 0; i < total; i++) {
+                        if (isCancelled()) throw new CancellationException();
+                        line.setLength(0);
+                        if (format == Format.CSV) writeCsvRow(line, rows.get(i));
+                        else writeJsonRow(line, rows.get(i));
+                        out.append(line);
+                        if ((i + 1) % PROGRESS_STEP == 0) updateProgress(i + 1, total);
+                    }
+                }
+
+                move(tmp, target);
+                committed = true;
+                updateProgress(total, total);
+                updateMessage("Exported " + total + " records");
+                return total;
+            } finally {
+                if (!committed) Files.deleteIfExists(tmp);
+            }
+        }
+
+        private void writeCsvHeader(StringBuilder line) {
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) line.append(',');
+                appendCsv(line, columns.get(c).name());
+            }
+            line.append("\r\n");
+        }
+
+        private void writeCsvRow(StringBuilder line, T row) {
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) line.append(',');
+                appendCsv(line, columns.get(c).value().apply(row));
+            }
+            line.append("\r\n");
+        }
+
+        private void writeJsonRow(StringBuilder line, T row) {
+            line.append('{');
+            for (int c = 0; c < columns.size(); c++) {
+                Column<T> column = columns.get(c);
+                if (c > 0) line.append(',');
+                appendJsonString(line, column.name());
+                line.append(':');
+                String value = column.value().apply(row);
+                if (value == null) line.append("null");
+                else if (column.numeric()) line.append(value);
+                else appendJsonString(line, value);
+            }
+            line.append("}\n");
+        }
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOGGER.log(Level.FINE, "Atomic move unsupported for " + to + "; replacing instead", e);
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** RFC 4180: quote a field containing a comma, quote or line break, doubling inner quotes. */
+    static void appendCsv(StringBuilder out, String value) {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"') out.append('"');
+            out.append(ch);
+        }
+        out.append('"');
+    }
+
+    static void appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (ch < 0x20) {
+                        out.append("\\u00");
+                        out.append(Character.forDigit(ch >> 4, 16));
+                        out.append(Character.forDigit(ch & 0xF, 16));
+                    } else {
+                        out.append(ch);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
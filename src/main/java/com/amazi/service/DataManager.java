@@ -1,13 +1,29 @@
 package com.amazi.service;
 
 import com.amazi.model.User;
+import com.amazi.model.StringPool;
 import com.amazi.model.Submission;
-import javafx.collections.FXCollections;
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
-import java.io.*;
-import java.time.LocalDate;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,183 +31,718 @@ public class DataManager {
     private static final Logger LOGGER = Logger.getLogger(DataManager.class.getName());
 
     private static final List<User> users = new ArrayList<>();
-    private static final ObservableList<Submission> allSubmissions = FXCollections.observableArrayList();
-    private static final String SUBMISSION_FILE = "submissions.txt";
-    private static final String USERS_FILE = "users.txt";
-    private static final String HISTORY_CONFIG = "history_config.txt";
+    // Case-folded login keys; users.txt keeps salted hashes (see PasswordHasher)
+    private static final Map<String, User> usersByUsername = new ConcurrentHashMap<>();
+    private static final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    // Accounts per case-folded role, guarded by the users lock like the list itself
+    private static final Map<String, Integer> usersByRole = new HashMap<>();
+    // Written under the users lock, read without it by the metrics gauges
+    private static volatile int userCount;
+    private static final UserSearchIndex userSearch = new UserSearchIndex();
+    private static final SubmissionStore submissionStore = new SubmissionStore();
+    // Data files live in the working directory unless -Damazi.dataDir points elsewhere (used by the benchmarks)
+    private static final String DATA_DIR = System.getProperty("amazi.dataDir", ".");
+
+    private static final int WRITE_QUEUE_CAPACITY = 10_000;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    // All writes happen on this thread so button handlers never wait on the disk or database
+    private static final WriteBehindExecutor writes = new WriteBehindExecutor("data-writer", WRITE_QUEUE_CAPACITY);
+    private static final SubmissionEventBus eventBus = new SubmissionEventBus();
 
     private static int nextId = 1;
 
+    private static final Metrics.Timer usersLoad = Metrics.timer("users.load");
+    private static final Metrics.Timer submissionsLoad = Metrics.timer("submissions.load");
+    private static final Metrics.Timer submissionsSaveAll = Metrics.timer("submissions.saveAll");
+    private static final Metrics.Timer submissionUpdate = Metrics.timer("submissions.update");
+    private static final Metrics.Timer validateUserTime = Metrics.timer("auth.validateUser");
+    private static final Metrics.Counter loginFailures = Metrics.counter("auth.failures");
+    private static final Metrics.Counter submissionsAdded = Metrics.counter("submissions.added");
+    private static final Metrics.Counter submissionsDeleted = Metrics.counter("submissions.deleted");
+
+    // Flat files unless started with -Damazi.storage=jdbc
+    private static StorageBackend createStorage() {
+        if ("jdbc".equalsIgnoreCase(System.getProperty("amazi.storage"))) {
+            return JdbcStorage.fromSystemProperties(writes);
+        }
+        return new FlatFileStorage(DATA_DIR, writes, submissionStore::view);
+    }
+
+    // --- BOOTSTRAP ---
+    // Users and submissions load in parallel off the FX thread; login only needs the users
+    private static final ExecutorService loader = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "data-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    // Password hashing is slow by design; it runs here, never on the FX thread
+    private static final ExecutorService authExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "auth");
+        t.setDaemon(true);
+        return t;
+    });
+    // Directory searches run here so typing in the admin search box never blocks the FX thread
+    private static final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "user-search");
+        t.setDaemon(true);
+        return t;
+    });
+    // Bulk imports run one at a time here; their parsing and hashing fan out to the common pool
+    private static final ExecutorService importExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "bulk-import");
+        t.setDaemon(true);
+        return t;
+    });
+    // Opening the storage can mean a connection pool plus DDL, so it is loader work too
+    private static CompletableFuture<StorageBackend> storageReady;
+    private static CompletableFuture<HistoryClearRegistry> historyReady;
+    private static CompletableFuture<Void> usersReady;
+    private static CompletableFuture<Void> submissionsReady;
+    private static final List<Runnable> deferredUntilLoaded = new ArrayList<>();
+    private static boolean submissionsLoaded;
+
     static {
-        loadUsersFromFile();
+        registerGauges();
+        bootstrap();
+    }
+
+    private static void registerGauges() {
+        Metrics.gauge("users.count", () -> userCount);
+        Metrics.gauge("submissions.count", submissionStore::publishedSize);
+        Metrics.gauge("storage.pendingWrites", writes::pendingWrites);
+        Metrics.gauge("pool.studentNames", StringPool.STUDENT_NAMES::size);
+        Metrics.gauge("pool.courses", StringPool.COURSES::size);
+        Metrics.gauge("pool.organizations", StringPool.ORGANIZATIONS::size);
+    }
+
+    private static void registerFileGauges(StorageBackend backend) {
+        for (Path file : backend.files()) {
+            Metrics.gauge("file." + file.getFileName() + ".bytes", () -> fileSize(file));
+        }
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Opens the storage and starts loading users, submissions and history
+     * clears in the background, returning immediately. Safe to call more than
+     * once; Main calls it as early as possible.
+     * @return a future that completes once users and submissions are loaded
+     */
+    public static synchronized CompletableFuture<Void> bootstrap() {
+        if (usersReady == null) {
+            storageReady = CompletableFuture.supplyAsync(DataManager::createStorage, loader);
+            storageReady.thenAccept(DataManager::registerFileGauges);
+            historyReady = storageReady.thenApplyAsync(backend -> new HistoryClearRegistry(backend.history()), loader);
+            historyReady.exceptionally(e -> {
+                LOGGER.log(Level.SEVERE, "Could not load history clears", e);
+                return null;
+            });
+            usersReady = storageReady.thenRunAsync(DataManager::loadUsers, loader);
+            usersReady.exceptionally(e -> {
+                LOGGER.log(Level.SEVERE, "Could not load users", e);
+                return null;
+            });
+            submissionsReady = new CompletableFuture<>();
+            submissionsReady.exceptionally(e -> {
+                LOGGER.log(Level.SEVERE, "Could not load submissions", e);
+                return null;
+            });
+            storageReady.whenCompleteAsync((backend, error) -> {
+                if (error != null) submissionsReady.completeExceptionally(error);
+                else loadSubmissions();
+            }, loader);
+        }
+        return CompletableFuture.allOf(usersReady, submissionsReady);
+    }
+
+    public static CompletableFuture<Void> usersReady() {
+        return usersReady;
+    }
+
+    public static CompletableFuture<Void> submissionsReady() {
+        return submissionsReady;
+    }
+
+    private static void loadUsers() {
+        synchronized (users) {
+            loadUsersFromStorage();
+
+            // A load failure throws above; seed only a store that is really empty
+            if (users.isEmpty() && storage().users().isEmpty()) {
+                users.add(new User(nextId++, "Admin", "admin", "admin@amazi.com", PasswordHasher.hash("admin123"), "Admin"));
+                users.add(new User(nextId++, "Faculty User", "faculty", "faculty@amazi.com", PasswordHasher.hash("faculty123"), "Faculty"));
+                users.add(new User(nextId++, "Student User", "student", "student@amazi.com", PasswordHasher.hash("student123"), "Student"));
+                for (User u : users) {
+                    indexUser(u);
+                    storage().users().save(u);
+                }
+            }
+        }
+    }
+
+    private static void loadSubmissions() {
+        try {
+            List<Submission> loaded = loadSubmissionsFromFile();
+            // The store backs ObservableLists, so it is filled on the FX thread
+            runOnFxThread(() -> publishLoadedSubmissions(loaded));
+        } catch (Throwable t) {
+            submissionsReady.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private static void publishLoadedSubmissions(List<Submission> loaded) {
+        submissionStore.replaceAll(loaded);
+        List<Runnable> deferred;
+        synchronized (deferredUntilLoaded) {
+            submissionsLoaded = true;
+            deferred = new ArrayList<>(deferredUntilLoaded);
+            deferredUntilLoaded.clear();
+        }
+        deferred.forEach(Runnable::run);
+        submissionsReady.complete(null);
+    }
+
+    // Submission changes made before the load finishes are replayed, in order, right after it
+    private static void afterSubmissionsLoaded(Runnable action) {
+        synchronized (deferredUntilLoaded) {
+            if (!submissionsLoaded) {
+                deferredUntilLoaded.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
 
-        if (users.isEmpty()) {
-            users.add(new User(nextId++, "Admin", "admin", "admin@amazi.com", "admin123", "Admin"));
-            users.add(new User(nextId++, "Faculty User", "faculty", "faculty@amazi.com", "faculty123", "Faculty"));
-            users.add(new User(nextId++, "Student User", "student", "student@amazi.com", "student123", "Student"));
-            saveUsersToFile();
+    /** Runs the action now if submissions are loaded, otherwise on the FX thread once they are. */
+    public static void whenSubmissionsReady(Runnable action) {
+        if (submissionsReady.isDone() && !submissionsReady.isCompletedExceptionally()) {
+            action.run();
+        } else {
+            submissionsReady.thenRun(() -> runOnFxThread(action));
         }
-        loadSubmissionsFromFile();
+    }
+
+    private static void runOnFxThread(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            // FX toolkit not running (headless tools)
+            action.run();
+        }
+    }
+
+    private static void awaitUsers() {
+        usersReady.join();
+    }
+
+    /**
+     * Runs a read or change of the user directory on the auth thread, once the
+     * users are loaded. Callers never wait, and a change is seen by every call
+     * made after it, since the thread runs them in call order.
+     */
+    private static <T> CompletableFuture<T> onUsers(Supplier<T> action) {
+        return CompletableFuture.supplyAsync(() -> {
+            awaitUsers();
+            return action.get();
+        }, authExecutor);
+    }
+
+    private static CompletableFuture<Void> changeUsers(Runnable action) {
+        return onUsers(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Users and submission writes only run once their load finished, so this rarely waits
+    private static StorageBackend storage() {
+        return storageReady.join();
     }
 
     // --- FIXED: USER MANAGEMENT METHODS FOR ADMIN ---
-    public static List<User> getAllUsers() {
-        return new ArrayList<>(users);
+    public static CompletableFuture<List<User>> getAllUsers() {
+        return onUsers(() -> {
+            synchronized (users) {
+                return new ArrayList<>(users);
+            }
+        });
     }
 
-    public static void deleteUser(User user) {
-        if (user == null) return;
-        users.removeIf(u -> u.getUserID() == user.getUserID());
-        saveUsersToFile();
+    public static CompletableFuture<Void> deleteUser(User user) {
+        if (user == null) return CompletableFuture.completedFuture(null);
+        return changeUsers(() -> {
+            synchronized (users) {
+                users.removeIf(u -> {
+                    if (u.getUserID() != user.getUserID()) return false;
+                    unindexUser(u);
+                    return true;
+                });
+                storage().users().delete(user.getUserID());
+            }
+        });
     }
 
-    public static void addUser(String name, String username, String email, String password, String role) {
+    /**
+     * Hashes the password on the auth thread, then stores the account. Logins are
+     * verified on the same thread, so a sign-in right after registering sees it.
+     */
+    public static CompletableFuture<User> addUser(String name, String username, String email, String password, String role) {
         String standardizedRole = role.equalsIgnoreCase("Instructor") ? "Faculty" : role;
-        users.add(new User(nextId++, name.trim(), username.trim(), email.trim(), password, standardizedRole));
-        saveUsersToFile();
+        return onUsers(() -> {
+            String hashed = PasswordHasher.hash(password);
+            synchronized (users) {
+                User user = new User(nextId++, name.trim(), username.trim(), email.trim(), hashed, standardizedRole);
+                users.add(user);
+                indexUser(user);
+                storage().users().save(user);
+                return user;
+            }
+        });
     }
 
+    /** Moves the account to another role (e.g. approving a Pending registration) and saves it. */
+    public static CompletableFuture<Void> changeUserRole(User user, String newRole) {
+        if (user == null || newRole == null) return CompletableFuture.completedFuture(null);
+        return changeUsers(() -> {
+            synchronized (users) {
+                countRole(user.getRole(), -1);
+                user.setRole(newRole);
+                countRole(newRole, 1);
+                storage().users().save(user);
+            }
+        });
+    }
+
+    /** O(1) snapshot of the role counters; no pass over the user list. */
+    public static CompletableFuture<RoleCounts> getRoleCounts() {
+        return onUsers(() -> {
+            synchronized (users) {
+                return new RoleCounts(roleCount("Student"), roleCount("Faculty"), roleCount("Admin"),
+                        roleCount("Pending"), users.size());
+            }
+        });
+    }
+
+    /** Accounts whose name or email contains the query, ignoring case; served from the trigram index. */
+    public static CompletableFuture<List<User>> searchUsersAsync(String query) {
+        return usersReady.thenApplyAsync(ignored -> userSearch.search(query), searchExecutor);
+    }
+
+    /**
+     * Looks the account up by username or email in O(1) and checks the password.
+     * Password hashing is deliberately slow, so UI code should use {@link #validateUserAsync}.
+     */
     public static User validateUser(String identifier, String password) {
         if (identifier == null || password == null) return null;
-        String cleanId = identifier.trim();
-        return users.stream()
-                .filter(u -> (u.getUsername().equalsIgnoreCase(cleanId) || u.getEmail().equalsIgnoreCase(cleanId))
-                        && u.getPassword().equals(password))
-                .findFirst()
-                .orElse(null);
-    }
+        awaitUsers();
+        long started = validateUserTime.start();
+        try {
+            String key = loginKey(identifier);
+            User user = usersByUsername.get(key);
+            if (user == null) user = usersByEmail.get(key);
+            if (user == null || !PasswordHasher.verify(password, user.getPassword())) {
+                loginFailures.increment();
+                return null;
+            }
 
-    private static void saveUsersToFile() {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(USERS_FILE))) {
-            for (User u : users) {
-                writer.println(u.getUserID() + "|" + u.getName() + "|" + u.getUsername() + "|" +
-                        u.getEmail() + "|" + u.getPassword() + "|" + u.getRole());
+            // Migration: plaintext (or weaker) passwords are re-hashed on their first successful login
+            if (PasswordHasher.needsRehash(user.getPassword())) {
+                String hashed = PasswordHasher.hash(password);
+                synchronized (users) {
+                    user.setPassword(hashed);
+                    storage().users().save(user);
+                }
             }
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Could not save users", e);
+            return user;
+        } finally {
+            validateUserTime.stop(started);
+        }
+    }
+
+    /** Runs {@link #validateUser} on the auth thread; completes with null for bad credentials. */
+    public static CompletableFuture<User> validateUserAsync(String identifier, String password) {
+        return usersReady.thenApplyAsync(ignored -> validateUser(identifier, password), authExecutor);
+    }
+
+    private static String loginKey(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Callers hold the users lock
+    private static void indexUser(User u) {
+        if (u.getUsername() != null) usersByUsername.putIfAbsent(loginKey(u.getUsername()), u);
+        if (u.getEmail() != null) usersByEmail.putIfAbsent(loginKey(u.getEmail()), u);
+        countRole(u.getRole(), 1);
+        userSearch.add(u);
+        userCount++;
+    }
+
+    private static void unindexUser(User u) {
+        if (u.getUsername() != null) usersByUsername.remove(loginKey(u.getUsername()), u);
+        if (u.getEmail() != null) usersByEmail.remove(loginKey(u.getEmail()), u);
+        countRole(u.getRole(), -1);
+        userSearch.remove(u);
+        userCount--;
+    }
+
+    private static void countRole(String role, int delta) {
+        if (role == null) return;
+        usersByRole.merge(loginKey(role), delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static int roleCount(String role) {
+        return usersByRole.getOrDefault(loginKey(role), 0);
+    }
+
+    /**
+     * Blocks until every queued write has reached the files. Call on shutdown;
+     * normal saves return immediately and are written in the background.
+     */
+    public static boolean flush() {
+        return writes.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** Flushes pending writes and releases the storage backend (e.g. the connection pool). */
+    public static boolean shutdown() {
+        boolean flushed = flush();
+        Metrics.dumpConfigured();
+        if (storageReady.isDone() && !storageReady.isCompletedExceptionally()) {
+            storageReady.join().close();
         }
+        return flushed;
     }
 
-    private static void loadUsersFromFile() {
-        File file = new File(USERS_FILE);
-        if (!file.exists()) return;
+    // Callers hold the users lock
+    private static void loadUsersFromStorage() {
+        long started = usersLoad.start();
         users.clear();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] p = line.split("\\|");
-                if (p.length >= 6) {
-                    int id = Integer.parseInt(p[0]);
-                    users.add(new User(id, p[1], p[2], p[3], p[4], p[5]));
-                    nextId = Math.max(nextId, id + 1);
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Error loading users", e);
+        usersByUsername.clear();
+        usersByEmail.clear();
+        usersByRole.clear();
+        userSearch.clear();
+        userCount = 0;
+        for (User user : storage().users().loadAll()) {
+            users.add(user);
+            indexUser(user);
+            nextId = Math.max(nextId, user.getUserID() + 1);
         }
+        usersLoad.stop(started);
     }
 
+    // Read-only view over the indexed store; use the DataManager methods to mutate
     public static ObservableList<Submission> getAllSubmissions() {
-        return allSubmissions;
+        return submissionStore.view();
+    }
+
+    // Only touches the given student's bucket, not the whole submission list
+    public static List<Submission> getSubmissionsFor(String studentName) {
+        return submissionStore.forStudent(studentName);
+    }
+
+    // Maintained incrementally by the store as records are approved, re-graded or rejected
+    public static AcademicTotals getAcademicTotals(String studentName) {
+        return submissionStore.totalsFor(studentName);
+    }
+
+    // Dashboards subscribe here instead of polling getAllSubmissions()
+    public static SubmissionEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /** Filter for the review queue; the query is resolved to the matching ids once, via the trigram index. */
+    public static Predicate<Submission> searchSubmissions(String query) {
+        return submissionStore.search(query);
+    }
+
+    public static Submission getSubmission(String id) {
+        return submissionStore.get(id);
+    }
+
+    /** What the record looked like when last stored; a new value means it changed since. */
+    public static SubmissionStore.SubmissionState getSubmissionState(String id) {
+        return submissionStore.stateOf(id);
+    }
+
+    public static Submission findSubmission(String studentName, String title) {
+        return submissionStore.findByStudentAndTitle(studentName, title);
     }
 
     public static void addSubmission(Submission submission) {
         submission.setLastUpdated(System.currentTimeMillis());
-        allSubmissions.add(submission);
-        saveSubmissionsToFile();
+        afterSubmissionsLoaded(() -> storeNewSubmission(submission));
+    }
+
+    private static void storeNewSubmission(Submission submission) {
+        submissionsAdded.increment();
+        submissionStore.put(submission);
+        storage().submissions().save(submission);
+        eventBus.publish(new SubmissionEvent(SubmissionEvent.Type.ADDED, submission));
     }
 
     public static void updateSubmissionInFile(Submission submission) {
-        for (int i = 0; i < allSubmissions.size(); i++) {
-            Submission current = allSubmissions.get(i);
-            if (current.getTitle().trim().equalsIgnoreCase(submission.getTitle().trim()) &&
-                    current.getStudentName().trim().equalsIgnoreCase(submission.getStudentName().trim())) {
+        afterSubmissionsLoaded(() -> storeUpdatedSubmission(submission));
+    }
+
+    private static void storeUpdatedSubmission(Submission submission) {
+        long started = submissionUpdate.start();
+        try {
+            replaceSubmission(submission);
+        } finally {
+            submissionUpdate.stop(started);
+        }
+    }
 
-                allSubmissions.set(i, submission);
-                break;
+    private static void replaceSubmission(Submission submission) {
+        SubmissionStore.SubmissionState before;
+        if (submissionStore.get(submission.getId()) == null) {
+            // Detached copy of an existing record: replace the one indexed under the same student/title
+            Submission current = submissionStore.findByStudentAndTitle(submission.getStudentName(), submission.getTitle());
+            if (current == null) {
+                LOGGER.log(Level.WARNING, "Update for unknown submission: {0}", submission.getTitle());
+                return;
             }
+            before = submissionStore.stateOf(current.getId());
+            submissionStore.remove(current.getId());
+            storage().submissions().delete(current.getId());
+            submissionStore.put(submission);
+        } else {
+            before = submissionStore.put(submission);
         }
-        saveSubmissionsToFile();
+        storage().submissions().save(submission);
+        publishUpdate(before, submission);
     }
 
-    // --- HISTORY CLEARANCE LOGIC ---
+    public static void deleteSubmission(Submission submission) {
+        if (submission == null) return;
+        afterSubmissionsLoaded(() -> removeSubmission(submission));
+    }
 
-    public static void saveLastClearTime(String studentName) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(HISTORY_CONFIG, true))) {
-            writer.println(studentName.trim() + "|" + System.currentTimeMillis());
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Could not save history config", e);
+    private static void removeSubmission(Submission submission) {
+        if (submissionStore.remove(submission.getId()) == null) return;
+        submissionsDeleted.increment();
+        storage().submissions().delete(submission.getId());
+        eventBus.publish(new SubmissionEvent(SubmissionEvent.Type.REMOVED, submission));
+    }
+
+    private static void publishUpdate(SubmissionStore.SubmissionState before, Submission after) {
+        if (before == null) {
+            eventBus.publish(new SubmissionEvent(SubmissionEvent.Type.ADDED, after));
+            return;
+        }
+        if (!Objects.equals(before.status(), after.getStatus())) {
+            eventBus.publish(new SubmissionEvent(SubmissionEvent.Type.STATUS_CHANGED, after));
+        }
+        if (!Objects.equals(before.grade(), after.getGrade())
+                || !Objects.equals(before.feedback(), after.getFeedback())
+                || before.creditHours() != after.getCreditHours()) {
+            eventBus.publish(new SubmissionEvent(SubmissionEvent.Type.GRADED, after));
         }
     }
 
-    public static long getLastClearTime(String studentName) {
-        File file = new File(HISTORY_CONFIG);
-        if (!file.exists()) return 0;
-        long lastClear = 0;
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] p = line.split("\\|");
-                if (p.length >= 2 && p[0].equalsIgnoreCase(studentName.trim())) {
-                    lastClear = Long.parseLong(p[1]);
+    // --- BULK IMPORT ---
+
+    /**
+     * Imports accounts from a CSV or JSON Lines file (see {@link BulkImporter}).
+     * Rows whose username or email is already taken, here or earlier in the
+     * file, are rejected. Plaintext passwords are hashed in parallel. Rows
+     * without one, such as a re-imported directory export, are created with
+     * {@link PasswordHasher#NEEDS_RESET} so they cannot sign in until an admin
+     * sets a password. The accepted accounts are stored together and written
+     * once; the future completes after that write has reached storage.
+     */
+    public static CompletableFuture<BulkImporter.ImportResult> importUsers(Path file) {
+        return usersReady.thenApplyAsync(ignored -> {
+            List<BulkImporter.Parsed<BulkImporter.UserRow>> parsed = parseOrFail(() -> BulkImporter.parseUsers(file));
+            List<BulkImporter.RowError> errors = new ArrayList<>();
+            List<BulkImporter.UserRow> accepted = new ArrayList<>(parsed.size());
+            Set<String> batchKeys = new HashSet<>();
+            for (BulkImporter.Parsed<BulkImporter.UserRow> p : parsed) {
+                if (p.error() != null) {
+                    errors.add(new BulkImporter.RowError(p.line(), p.error()));
+                    continue;
+                }
+                String conflict = userConflict(p.value(), batchKeys);
+                if (conflict != null) errors.add(new BulkImporter.RowError(p.line(), conflict));
+                else accepted.add(p.value());
+            }
+
+            // Hashing is the slow part of an import; existing hashes are kept as they are
+            List<String> hashes = accepted.parallelStream()
+                    .map(row -> importedPassword(row.password()))
+                    .toList();
+
+            List<User> created = new ArrayList<>(accepted.size());
+            synchronized (users) {
+                for (int i = 0; i < accepted.size(); i++) {
+                    BulkImporter.UserRow row = accepted.get(i);
+                    // Someone may have registered the same name while the batch was hashing
+                    String conflict = userConflict(row, null);
+                    if (conflict != null) {
+                        errors.add(new BulkImporter.RowError(row.line(), conflict));
+                        continue;
+                    }
+                    User user = new User(nextId++, row.name(), row.username(), row.email(), hashes.get(i), row.role());
+                    users.add(user);
+                    indexUser(user);
+                    created.add(user);
                 }
+                storage().users().saveBatch(created);
+            }
+            flush();
+            errors.sort((a, b) -> Integer.compare(a.line(), b.line()));
+            int needPassword = (int) created.stream().filter(u -> PasswordHasher.needsReset(u.getPassword())).count();
+            LOGGER.log(Level.INFO, "Imported {0} users from {1} ({2} without a password)",
+                    new Object[]{created.size(), file, needPassword});
+            return new BulkImporter.ImportResult(created.size(), errors, needPassword);
+        }, importExecutor);
+    }
+
+    private static String importedPassword(String password) {
+        if (password == null) return PasswordHasher.NEEDS_RESET;
+        return PasswordHasher.isHashed(password) ? password : PasswordHasher.hash(password);
+    }
+
+    /** Hashes the new password on the auth thread and stores it, e.g. for an imported account. */
+    public static CompletableFuture<Void> setPassword(User user, String password) {
+        return changeUsers(() -> {
+            String hashed = PasswordHasher.hash(password);
+            synchronized (users) {
+                user.setPassword(hashed);
+                storage().users().save(user);
+            }
+        });
+    }
+
+    // batchKeys collects the keys seen so far in the file; null checks the live indexes only
+    private static String userConflict(BulkImporter.UserRow row, Set<String> batchKeys) {
+        String username = loginKey(row.username());
+        String email = loginKey(row.email());
+        if (usersByUsername.containsKey(username) || usersByEmail.containsKey(username)) {
+            return "username already taken: " + row.username();
+        }
+        if (usersByEmail.containsKey(email) || usersByUsername.containsKey(email)) {
+            return "email already registered: " + row.email();
+        }
+        if (batchKeys != null) {
+            if (!batchKeys.add("u:" + username)) return "duplicate username in file: " + row.username();
+            if (!batchKeys.add("e:" + email)) return "duplicate email in file: " + row.email();
+        }
+        return null;
+    }
+
+    /**
+     * Imports submissions from a CSV or JSON Lines file. Records whose id, or
+     * student and title, already exist are rejected. The batch goes into the
+     * store in one list change and to storage as one write.
+     */
+    public static CompletableFuture<BulkImporter.ImportResult> importSubmissions(Path file) {
+        CompletableFuture<BulkImporter.ImportResult> result = new CompletableFuture<>();
+        importExecutor.execute(() -> {
+            List<BulkImporter.Parsed<BulkImporter.SubmissionRow>> parsed;
+            try {
+                parsed = parseOrFail(() -> BulkImporter.parseSubmissions(file));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
             }
-        } catch (Exception e) { return 0; }
-        return lastClear;
-    }
-
-
-    // --- FILE I/O ---
-    private static void loadSubmissionsFromFile() {
-        File file = new File(SUBMISSION_FILE);
-        if (!file.exists()) return;
-
-        allSubmissions.clear();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] p = line.split("\\|");
-                if (p.length >= 6) {
-                    Submission s = new Submission(
-                            p[0], p[1], "Project", "General",
-                            LocalDate.now(),
-                            p.length > 6 ? p[6] : "No description",
-                            "None", p[3], p[2]
-                    );
-                    s.setFeedback(p[4]);
-                    s.setGrade(p[5]);
-                    if (p.length > 7) s.setOrganizationName(p[7]);
-                    if (p.length > 8) s.setEmail(p[8]);
-                    if (p.length > 9) s.setCreditHours(p[9]);
-                    if (p.length > 10) s.setLastUpdated(Long.parseLong(p[10]));
-
-                    allSubmissions.add(s);
+            // The store is FX-thread data, so duplicates are checked and the batch stored there
+            runOnFxThread(() -> afterSubmissionsLoaded(() -> {
+                try {
+                    result.complete(storeImportedSubmissions(parsed));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
                 }
+            }));
+        });
+        return result.thenApplyAsync(r -> {
+            flush();
+            LOGGER.log(Level.INFO, "Imported {0} submissions from {1}", new Object[]{r.imported(), file});
+            return r;
+        }, importExecutor);
+    }
+
+    private static BulkImporter.ImportResult storeImportedSubmissions(
+            List<BulkImporter.Parsed<BulkImporter.SubmissionRow>> parsed) {
+        List<BulkImporter.RowError> errors = new ArrayList<>();
+        List<Submission> accepted = new ArrayList<>(parsed.size());
+        Set<String> batchKeys = new HashSet<>();
+        for (BulkImporter.Parsed<BulkImporter.SubmissionRow> p : parsed) {
+            if (p.error() != null) {
+                errors.add(new BulkImporter.RowError(p.line(), p.error()));
+                continue;
             }
-        } catch (IOException e) {
-            LOGGER.log(Level.WARNING, "Error loading submissions", e);
-        }
-    }
-
-    private static void saveSubmissionsToFile() {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(SUBMISSION_FILE))) {
-            for (Submission s : allSubmissions) {
-                writer.println(
-                        s.getTitle() + "|" +
-                                s.getCourse() + "|" +
-                                s.getStudentName() + "|" +
-                                s.getStatus() + "|" +
-                                (s.getFeedback() == null || s.getFeedback().isEmpty() ? "No feedback" : s.getFeedback()) + "|" +
-                                (s.getGrade() == null || s.getGrade().isEmpty() ? "N/A" : s.getGrade()) + "|" +
-                                (s.getDescription() == null ? "" : s.getDescription()) + "|" +
-                                (s.getOrganizationName() == null ? "" : s.getOrganizationName()) + "|" +
-                                (s.getEmail() == null ? "" : s.getEmail()) + "|" +
-                                (s.getCreditHours() == null ? "0" : s.getCreditHours()) + "|" +
-                                s.getLastUpdated()
-                );
+            Submission s = p.value().submission();
+            String studentTitle = SubmissionStore.normalize(s.getStudentName()) + "|" + SubmissionStore.normalize(s.getTitle());
+            if (submissionStore.get(s.getId()) != null || !batchKeys.add("id:" + s.getId())) {
+                errors.add(new BulkImporter.RowError(p.line(), "submission id already exists: " + s.getId()));
+            } else if (submissionStore.findByStudentAndTitle(s.getStudentName(), s.getTitle()) != null
+                    || !batchKeys.add(studentTitle)) {
+                errors.add(new BulkImporter.RowError(p.line(),
+                        s.getStudentName() + " already has a submission titled " + s.getTitle()));
+            } else {
+                accepted.add(s);
             }
+        }
+        submissionStore.addAll(accepted);
+        storage().submissions().saveBatch(accepted);
+        for (Submission s : accepted) {
+            eventBus.publish(new SubmissionEvent(SubmissionEvent.Type.ADDED, s));
+        }
+        return new BulkImporter.ImportResult(accepted.size(), errors);
+    }
+
+    @FunctionalInterface
+    private interface ImportParser<T> {
+        List<BulkImporter.Parsed<T>> parse() throws IOException;
+    }
+
+    private static <T> List<BulkImporter.Parsed<T>> parseOrFail(ImportParser<T> parser) {
+        try {
+            return parser.parse();
         } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Critical error saving submissions", e);
+            throw new CompletionException(e);
+        }
+    }
+
+    // --- HISTORY CLEARANCE LOGIC ---
+
+    public static void saveLastClearTime(String studentName) {
+        historyReady.join().recordClear(studentName, System.currentTimeMillis());
+    }
+
+    // Served from memory; history_config.txt is only read once at startup
+    public static long getLastClearTime(String studentName) {
+        return historyReady.join().getLastClearTime(studentName);
+    }
+
+
+    // --- STORAGE ---
+    // Kept package-private for the benchmarks
+    static List<Submission> loadSubmissionsFromFile() {
+        long started = submissionsLoad.start();
+        try {
+            return storage().submissions().loadAll();
+        } finally {
+            submissionsLoad.stop(started);
+        }
+    }
+
+    // Forces an immediate full rewrite of the stored submissions
+    static void saveSubmissionsToFile() {
+        long started = submissionsSaveAll.start();
+        try {
+            storage().submissions().saveAll(new ArrayList<>(submissionStore.view()));
+        } finally {
+            submissionsSaveAll.stop(started);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.amazi.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * history_config.txt: {@code studentName|clearedAt} lines, appended on every
+ * clear. Once superseded lines start to dominate, the file is rewritten down
+ * to one line per student. Both kinds of write run on the write-behind thread.
+ */
+public class FlatFileHistoryRepository implements HistoryRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(FlatFileHistoryRepository.class.getName());
+    private static final int COMPACT_SLACK = 32;
+
+    private final Path file;
+    private final WriteBehindExecutor writes;
+    // Latest line per normalized student name, which is what a compaction writes
+    private final Map<String, String> latest = new LinkedHashMap<>();
+    private int linesOnDisk;
+
+    public FlatFileHistoryRepository(String file, WriteBehindExecutor writes) {
+        this.file = Paths.get(file);
+        this.writes = writes;
+    }
+
+    @Override
+    public synchronized Map<String, Long> loadAll() {
+        Map<String, Long> loaded = new LinkedHashMap<>();
+        latest.clear();
+        linesOnDisk = 0;
+        if (!Files.exists(file)) return loaded;
+        RecordTokenizer t = new RecordTokenizer().escaped(false);
+        boolean escaped = false;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (RecordTokenizer.isEscapedHeader(line)) {
+                    t.escaped(escaped = true);
+                    continue;
+                }
+                linesOnDisk++;
+                if (t.reset(line).fieldCount() < 2) continue;
+                try {
+                    String name = t.text(0).trim();
+                    long clearedAt = Long.parseLong(t.text(1).trim());
+                    // "Ada" and "ada " are one student; the newest clear wins whatever the line order
+                    String key = SubmissionStore.normalize(name);
+                    Long known = loaded.get(key);
+                    if (known == null || clearedAt >= known) {
+                        loaded.put(key, clearedAt);
+                        latest.put(key, format(name, clearedAt));
+                    }
+                } catch (NumberFormatException e) {
+                    LOGGER.log(Level.WARNING, "Skipping malformed history entry: {0}", line);
+                }
+            }
+        } catch (IOException e) {
+            // Compacting what was read so far would drop every clear after the bad line
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        // New lines are appended escaped, so a file from before escaping is rewritten with the header first
+        if (linesOnDisk > latest.size() || (!escaped && linesOnDisk > 0)) {
+            compact();
+        }
+        return loaded;
+    }
+
+    @Override
+    public synchronized void saveClear(String studentName, long clearedAt) {
+        String name = studentName.trim();
+        String line = format(name, clearedAt);
+        latest.put(SubmissionStore.normalize(name), line);
+        writes.submit(() -> {
+            boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (fresh) {
+                    writer.write(RecordTokenizer.ESCAPED_HEADER);
+                    writer.newLine();
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+        });
+        linesOnDisk++;
+
+        if (linesOnDisk > 2 * latest.size() + COMPACT_SLACK) {
+            compact();
+        }
+    }
+
+    private static String format(String name, long clearedAt) {
+        return RecordTokenizer.appendEscaped(new StringBuilder(name.length() + 16), name)
+                .append('|').append(clearedAt).toString();
+    }
+
+    /** Rewrites the file with only the latest entry per student. */
+    private void compact() {
+        List<String> lines = new ArrayList<>(latest.size() + 1);
+        lines.add(RecordTokenizer.ESCAPED_HEADER);
+        lines.addAll(latest.values());
+        linesOnDisk = latest.size();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        writes.submit(() -> {
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        });
+    }
+}
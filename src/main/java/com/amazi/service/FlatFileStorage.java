@@ -0,0 +1,57 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The original storage: users.txt, submissions.txt (+ journal and binary
+ * sidecar) and history_config.txt in one data directory.
+ */
+public class FlatFileStorage implements StorageBackend {
+
+    private static final int JOURNAL_COMPACT_THRESHOLD = 500;
+
+    private final UserRepository users;
+    private final SubmissionRepository submissions;
+    private final HistoryRepository history;
+    private final List<Path> files;
+
+    public FlatFileStorage(String dataDir, WriteBehindExecutor writes, Supplier<List<Submission>> currentSubmissions) {
+        this.users = new FlatFileUserRepository(file(dataDir, "users.txt"), writes);
+        this.submissions = new FlatFileSubmissionRepository(file(dataDir, "submissions.txt"),
+                file(dataDir, "submissions.journal"), JOURNAL_COMPACT_THRESHOLD, currentSubmissions, writes);
+        this.history = new FlatFileHistoryRepository(file(dataDir, "history_config.txt"), writes);
+        this.files = List.of(Paths.get(file(dataDir, "users.txt")), Paths.get(file(dataDir, "submissions.txt")),
+                Paths.get(file(dataDir, "submissions.journal")),
+                SubmissionSnapshotCodec.sidecarFor(Paths.get(file(dataDir, "submissions.txt"))),
+                Paths.get(file(dataDir, "history_config.txt")));
+    }
+
+    private static String file(String dataDir, String name) {
+        return ".".equals(dataDir) ? name : Paths.get(dataDir, name).toString();
+    }
+
+    @Override
+    public UserRepository users() {
+        return users;
+    }
+
+    @Override
+    public SubmissionRepository submissions() {
+        return submissions;
+    }
+
+    @Override
+    public HistoryRepository history() {
+        return history;
+    }
+
+    @Override
+    public List<Path> files() {
+        return files;
+    }
+}
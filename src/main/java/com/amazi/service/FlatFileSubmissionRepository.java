@@ -0,0 +1,116 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * submissions.txt plus its binary sidecar and the {@link SubmissionJournal}
+ * in front of them. Saves and deletes are single journal appends; the
+ * journal folds itself back into the snapshot as it grows.
+ */
+public class FlatFileSubmissionRepository implements SubmissionRepository {
+
+    private final Path snapshotFile;
+    private final WriteBehindExecutor writes;
+    private final SubmissionJournal journal;
+
+    /**
+     * @param currentRecords the live records, read when a background compaction
+     *                       needs a full snapshot
+     */
+    public FlatFileSubmissionRepository(String snapshotFile, String journalFile, int compactThreshold,
+                                        Supplier<List<Submission>> currentRecords, WriteBehindExecutor writes) {
+        this.snapshotFile = Paths.get(snapshotFile);
+        this.writes = writes;
+        this.journal = new SubmissionJournal(snapshotFile, journalFile, compactThreshold,
+                () -> toRecordLines(currentRecords.get()), writes);
+    }
+
+    /**
+     * Reads the snapshot (binary sidecar if it is current, else the text file
+     * via the parallel {@link SubmissionSnapshotReader}),
+     * then replays the journal on top of it by submission id.
+     */
+    @Override
+    public List<Submission> loadAll() {
+        Map<String, Submission> byId = new LinkedHashMap<>();
+        boolean rewriteSnapshot = false;
+
+        List<Submission> fromBinary = SubmissionSnapshotCodec.readSidecar(snapshotFile);
+        if (fromBinary != null) {
+            for (Submission s : fromBinary) {
+                byId.put(s.getId(), s);
+            }
+        } else if (Files.exists(snapshotFile)) {
+            try {
+                // Chunks are parsed in parallel but come back in file order, so later duplicates still win
+                SubmissionSnapshotReader.Result text = SubmissionSnapshotReader.read(snapshotFile);
+                for (Submission s : text.records()) {
+                    byId.put(s.getId(), s);
+                }
+                rewriteSnapshot = text.legacyRows();
+            } catch (IOException e) {
+                // Carrying on would compact the journal alone over the unread snapshot
+                throw new UncheckedIOException("Could not read " + snapshotFile, e);
+            }
+            // No usable binary copy yet: the compaction below (or this one-off write) creates it
+            if (!rewriteSnapshot) {
+                List<String> lines = toRecordLines(new ArrayList<>(byId.values()));
+                writes.submit(() -> SubmissionSnapshotCodec.writeSidecar(snapshotFile, lines));
+            }
+        }
+
+        journal.replay(
+                (line, escaped) -> {
+                    Submission s = SubmissionTextFormat.parse(line, escaped);
+                    if (s != null) byId.put(s.getId(), s);
+                },
+                byId::remove
+        );
+        List<Submission> loaded = new ArrayList<>(byId.values());
+
+        // Fold the replayed log (and any ids generated for legacy rows) into the snapshot once
+        if (rewriteSnapshot || journal.hasPendingEntries()) {
+            journal.compactNow(toRecordLines(loaded));
+        }
+        return loaded;
+    }
+
+    @Override
+    public void save(Submission submission) {
+        journal.appendUpsert(SubmissionTextFormat.format(submission));
+    }
+
+    @Override
+    public void saveBatch(List<Submission> submissions) {
+        journal.appendUpserts(toRecordLines(submissions));
+    }
+
+    @Override
+    public void delete(String id) {
+        journal.appendDelete(id);
+    }
+
+    @Override
+    public void saveAll(List<Submission> submissions) {
+        journal.compactNow(toRecordLines(submissions));
+    }
+
+    private static List<String> toRecordLines(List<Submission> submissions) {
+        List<String> lines = new ArrayList<>(submissions.size());
+        for (Submission s : submissions) {
+            lines.add(SubmissionTextFormat.format(s));
+        }
+        return lines;
+    }
+}
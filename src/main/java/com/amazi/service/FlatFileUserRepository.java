@@ -0,0 +1,119 @@
+package com.amazi.service;
+
+import com.amazi.model.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * users.txt: one {@code id|name|username|email|password|role} line per account.
+ * The file is small, so every change rewrites it; a burst of changes
+ * collapses into a single rewrite on the write-behind thread.
+ */
+public class FlatFileUserRepository implements UserRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(FlatFileUserRepository.class.getName());
+
+    private final Path file;
+    private final WriteBehindExecutor writes;
+    // Saved lines by user id, in file order; copied once per rewrite
+    private final Map<Integer, String> lines = new LinkedHashMap<>();
+
+    public FlatFileUserRepository(String file, WriteBehindExecutor writes) {
+        this.file = Paths.get(file);
+        this.writes = writes;
+    }
+
+    @Override
+    public synchronized List<User> loadAll() {
+        List<User> loaded = new ArrayList<>();
+        lines.clear();
+        if (!Files.exists(file)) return loaded;
+        RecordTokenizer t = new RecordTokenizer().escaped(false);
+        boolean escaped = false;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (RecordTokenizer.isEscapedHeader(line)) {
+                    t.escaped(escaped = true);
+                    continue;
+                }
+                if (t.reset(line).fieldCount() < 6) continue;
+                try {
+                    User user = new User(t.intValue(0), t.text(1), t.text(2), t.text(3), t.text(4), t.text(5));
+                    loaded.add(user);
+                    // Lines from a file older than escaping are re-encoded for the next rewrite
+                    lines.put(user.getUserID(), escaped ? line : format(user));
+                } catch (NumberFormatException e) {
+                    LOGGER.log(Level.WARNING, "Skipping malformed user entry: {0}", line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        return loaded;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        try {
+            return !Files.exists(file) || Files.size(file) == 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void save(User u) {
+        lines.put(u.getUserID(), format(u));
+        scheduleRewrite();
+    }
+
+    private static String format(User u) {
+        StringBuilder line = new StringBuilder(96).append(u.getUserID()).append('|');
+        RecordTokenizer.appendEscaped(line, u.getName()).append('|');
+        RecordTokenizer.appendEscaped(line, u.getUsername()).append('|');
+        RecordTokenizer.appendEscaped(line, u.getEmail()).append('|');
+        RecordTokenizer.appendEscaped(line, u.getPassword()).append('|');
+        return RecordTokenizer.appendEscaped(line, u.getRole()).toString();
+    }
+
+    @Override
+    public synchronized void saveBatch(Collection<User> users) {
+        for (User u : users) {
+            lines.put(u.getUserID(), format(u));
+        }
+        scheduleRewrite();
+    }
+
+    @Override
+    public synchronized void delete(int userId) {
+        if (lines.remove(userId) != null) scheduleRewrite();
+    }
+
+    private void scheduleRewrite() {
+        writes.submitCoalesced(file.toString(), () -> {
+            List<String> snapshot;
+            synchronized (this) {
+                snapshot = new ArrayList<>(lines.values());
+            }
+            snapshot.add(0, RecordTokenizer.ESCAPED_HEADER);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, snapshot, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        });
+    }
+}
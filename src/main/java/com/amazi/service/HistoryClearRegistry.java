@@ -0,0 +1,31 @@
+package com.amazi.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the "history cleared at" timestamp per student in memory.
+ * The repository is read once; after that lookups never touch storage and
+ * every clear is handed to the repository as a single write.
+ */
+public class HistoryClearRegistry {
+
+    private final HistoryRepository repository;
+    private final Map<String, Long> lastClear = new ConcurrentHashMap<>();
+
+    public HistoryClearRegistry(HistoryRepository repository) {
+        this.repository = repository;
+        repository.loadAll().forEach((name, clearedAt) ->
+                lastClear.merge(SubmissionStore.normalize(name), clearedAt, Math::max));
+    }
+
+    /** Pure map lookup; safe to call from the dashboard refresh path. */
+    public long getLastClearTime(String studentName) {
+        return lastClear.getOrDefault(SubmissionStore.normalize(studentName), 0L);
+    }
+
+    public synchronized void recordClear(String studentName, long clearedAt) {
+        lastClear.put(SubmissionStore.normalize(studentName), clearedAt);
+        repository.saveClear(studentName, clearedAt);
+    }
+}
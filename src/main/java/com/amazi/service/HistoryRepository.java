@@ -0,0 +1,17 @@
+package com.amazi.service;
+
+import java.util.Map;
+
+/**
+ * Persistence for the per-student "history cleared at" timestamps.
+ */
+public interface HistoryRepository {
+
+    /**
+     * @return the latest clear time per student, keyed by {@link SubmissionStore#normalize normalized} name
+     * @throws RuntimeException if the storage can't be read; an empty map means there are no clears
+     */
+    Map<String, Long> loadAll();
+
+    void saveClear(String studentName, long clearedAt);
+}
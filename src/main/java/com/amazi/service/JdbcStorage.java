@@ -0,0 +1,425 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import com.amazi.model.User;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database storage over a pooled {@link DataSource}. Configure it with
+ * -Damazi.jdbc.url, -Damazi.jdbc.user, -Damazi.jdbc.password and optionally
+ * -Damazi.jdbc.poolSize; the tables are created on first use.
+ *
+ * Saves only record the latest row per key. One coalesced task on the shared
+ * {@link WriteBehindExecutor} then writes everything pending for a table as a
+ * batched DELETE plus a batched INSERT in a single transaction, so a burst of
+ * grading clicks costs one round trip per statement rather than one per click.
+ * If the database is unreachable the rows stay pending and the flush is
+ * retried a few times with a delay; whatever is still pending is tried once
+ * more on {@link #close()}.
+ * Any DataSource works, e.g. an in-process H2 database for tests.
+ */
+public class JdbcStorage implements StorageBackend {
+
+    private static final long SAVE_ALL_TIMEOUT_SECONDS = 60;
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+    private static final int MAX_RETRIES = 5;
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS users (" +
+                    "id INT PRIMARY KEY, name VARCHAR(255), username VARCHAR(255), email VARCHAR(255), " +
+                    "password VARCHAR(255), role VARCHAR(32))",
+            "CREATE TABLE IF NOT EXISTS submissions (" +
+                    "id VARCHAR(64) PRIMARY KEY, title VARCHAR(512), course VARCHAR(255), student_name VARCHAR(255), " +
+                    "status VARCHAR(32), feedback VARCHAR(4000), grade VARCHAR(16), description VARCHAR(4000), " +
+                    "organization VARCHAR(255), email VARCHAR(255), credit_hours VARCHAR(16), last_updated BIGINT, " +
+                    "completion_date DATE)",
+            "CREATE TABLE IF NOT EXISTS history_clears (" +
+                    "student_key VARCHAR(255) PRIMARY KEY, student_name VARCHAR(255), cleared_at BIGINT)"
+    };
+
+    // Marks a pending delete; upserts carry the key followed by the column values
+    private static final Object[] DELETED = new Object[0];
+
+    private final DataSource dataSource;
+    private final WriteBehindExecutor writes;
+    private final long retryDelayMillis;
+    private final ScheduledExecutorService retries = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "jdbc-retry");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Table userTable = new Table("users", "id",
+            "name", "username", "email", "password", "role");
+    private final Table submissionTable = new Table("submissions", "id",
+            "title", "course", "student_name", "status", "feedback", "grade", "description",
+            "organization", "email", "credit_hours", "last_updated", "completion_date");
+    private final Table historyTable = new Table("history_clears", "student_key",
+            "student_name", "cleared_at");
+
+    private final UserRepository users = new JdbcUserRepository();
+    private final SubmissionRepository submissions = new JdbcSubmissionRepository();
+    private final HistoryRepository history = new JdbcHistoryRepository();
+
+    public JdbcStorage(DataSource dataSource, WriteBehindExecutor writes) {
+        this(dataSource, writes, RETRY_DELAY_MILLIS);
+    }
+
+    JdbcStorage(DataSource dataSource, WriteBehindExecutor writes, long retryDelayMillis) {
+        this.dataSource = dataSource;
+        this.writes = writes;
+        this.retryDelayMillis = retryDelayMillis;
+        createSchema();
+    }
+
+    /** Builds a HikariCP pool from the amazi.jdbc.* system properties. */
+    public static JdbcStorage fromSystemProperties(WriteBehindExecutor writes) {
+        String url = System.getProperty("amazi.jdbc.url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("amazi.storage=jdbc needs -Damazi.jdbc.url");
+        }
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getProperty("amazi.jdbc.user"));
+        config.setPassword(System.getProperty("amazi.jdbc.password"));
+        config.setMaximumPoolSize(Integer.getInteger("amazi.jdbc.poolSize", 4));
+        config.setPoolName("amazi-db");
+        if (url.startsWith("jdbc:mysql:")) {
+            // Let Connector/J cache the statements and send each batch as one multi-row statement
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+        return new JdbcStorage(new HikariDataSource(config), writes);
+    }
+
+    @Override
+    public UserRepository users() {
+        return users;
+    }
+
+    @Override
+    public SubmissionRepository submissions() {
+        return submissions;
+    }
+
+    @Override
+    public HistoryRepository history() {
+        return history;
+    }
+
+    @Override
+    public void close() {
+        retries.shutdownNow();
+        // Rows left over from failed flushes get one last attempt before the pool goes away
+        for (Table table : List.of(userTable, submissionTable, historyTable)) {
+            table.retryPending();
+        }
+        writes.flush(SAVE_ALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (dataSource instanceof HikariDataSource pool) pool.close();
+    }
+
+    private void createSchema() {
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            for (String ddl : SCHEMA) {
+                st.execute(ddl);
+            }
+            // Tables created before the column existed
+            if (!hasColumn(c, "submissions", "completion_date")) {
+                st.execute("ALTER TABLE submissions ADD completion_date DATE");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create the database tables", e);
+        }
+    }
+
+    private static boolean hasColumn(Connection c, String table, String column) {
+        try (Statement st = c.createStatement()) {
+            st.executeQuery("SELECT " + column + " FROM " + table + " WHERE 1 = 0").close();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // --- REPOSITORIES ---
+
+    private final class JdbcUserRepository implements UserRepository {
+        @Override
+        public List<User> loadAll() {
+            List<User> loaded = new ArrayList<>();
+            query("SELECT id, name, username, email, password, role FROM users ORDER BY id", rs ->
+                    loaded.add(new User(rs.getInt(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getString(5), rs.getString(6))));
+            return loaded;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            long[] count = new long[1];
+            query("SELECT COUNT(*) FROM users", rs -> count[0] = rs.getLong(1));
+            return count[0] == 0;
+        }
+
+        @Override
+        public void save(User u) {
+            userTable.upsert(u.getUserID(), u.getName(), u.getUsername(), u.getEmail(), u.getPassword(), u.getRole());
+        }
+
+        @Override
+        public void delete(int userId) {
+            userTable.delete(userId);
+        }
+    }
+
+    private final class JdbcSubmissionRepository implements SubmissionRepository {
+        @Override
+        public List<Submission> loadAll() {
+            List<Submission> loaded = new ArrayList<>();
+            query("SELECT id, title, course, student_name, status, feedback, grade, description, " +
+                    "organization, email, credit_hours, last_updated, completion_date FROM submissions", rs -> {
+                long lastUpdated = rs.getLong(12);
+                LocalDate completed = rs.getObject(13, LocalDate.class);
+                Submission s = new Submission(rs.getString(1), rs.getString(2), rs.getString(3), "Project", "General",
+                        completed != null ? completed : SubmissionTextFormat.completionDateFallback(lastUpdated),
+                        rs.getString(8), "None",
+                        Objects.requireNonNullElse(SubmissionStatus.parse(rs.getString(5)), SubmissionStatus.PENDING),
+                        rs.getString(4));
+                s.setFeedback(rs.getString(6));
+                s.setGrade(Grade.parse(rs.getString(7)));
+                s.setOrganizationName(rs.getString(9));
+                s.setEmail(rs.getString(10));
+                s.setCreditHours(credits(rs.getString(11)));
+                s.setLastUpdated(lastUpdated);
+                loaded.add(s);
+            });
+            return loaded;
+        }
+
+        @Override
+        public void save(Submission s) {
+            submissionTable.upsert(s.getId(), row(s));
+        }
+
+        @Override
+        public void delete(String id) {
+            submissionTable.delete(id);
+        }
+
+        @Override
+        public void saveAll(List<Submission> all) {
+            List<Object[]> rows = new ArrayList<>(all.size());
+            for (Submission s : all) {
+                rows.add(keyedRow(s.getId(), row(s)));
+            }
+            // Queued behind (and superseding) any pending saves, then waited for like a file compaction
+            submissionTable.discardPending();
+            writes.submit(() -> submissionTable.replaceAll(rows));
+            writes.flush(SAVE_ALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        private Object[] row(Submission s) {
+            return new Object[]{s.getTitle(), s.getCourse(), s.getStudentName(), s.getStatus().name(),
+                    s.getFeedback(), s.getGrade().label(), s.getDescription(), s.getOrganizationName(),
+                    s.getEmail(), String.valueOf(s.getCreditHours()), s.getLastUpdated(), s.getCompletionDate()};
+        }
+
+        // credit_hours stays a VARCHAR so existing databases need no migration
+        private int credits(String value) {
+            try {
+                return value == null || value.isBlank() ? 0 : Math.max(0, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+
+    private final class JdbcHistoryRepository implements HistoryRepository {
+        @Override
+        public Map<String, Long> loadAll() {
+            Map<String, Long> loaded = new LinkedHashMap<>();
+            query("SELECT student_key, cleared_at FROM history_clears", rs ->
+                    loaded.merge(rs.getString(1), rs.getLong(2), Math::max));
+            return loaded;
+        }
+
+        @Override
+        public void saveClear(String studentName, long clearedAt) {
+            String name = studentName.trim();
+            historyTable.upsert(SubmissionStore.normalize(name), name, clearedAt);
+        }
+    }
+
+    // --- JDBC PLUMBING ---
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    private void query(String sql, RowHandler handler) {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                handler.handle(rs);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Query failed: " + sql, e);
+        }
+    }
+
+    private static Object[] keyedRow(Object key, Object[] values) {
+        Object[] row = new Object[values.length + 1];
+        row[0] = key;
+        System.arraycopy(values, 0, row, 1, values.length);
+        return row;
+    }
+
+    /** Pending writes for one table, keyed by primary key so only the latest row is written. */
+    private final class Table {
+        private final String name;
+        private final String deleteSql;
+        private final String insertSql;
+        private Map<Object, Object[]> pending = new LinkedHashMap<>();
+        // Consecutive failed flushes, only touched on the writer thread
+        private int failures;
+
+        Table(String name, String keyColumn, String... columns) {
+            this.name = name;
+            this.deleteSql = "DELETE FROM " + name + " WHERE " + keyColumn + " = ?";
+            this.insertSql = "INSERT INTO " + name + " (" + keyColumn + ", " + String.join(", ", columns) +
+                    ") VALUES (?" + ", ?".repeat(columns.length) + ")";
+        }
+
+        void upsert(Object key, Object... values) {
+            enqueue(key, keyedRow(key, values));
+        }
+
+        void delete(Object key) {
+            enqueue(key, DELETED);
+        }
+
+        private void enqueue(Object key, Object[] row) {
+            synchronized (this) {
+                pending.put(key, row);
+            }
+            writes.submitCoalesced("jdbc:" + name, this::flush);
+        }
+
+        void retryPending() {
+            synchronized (this) {
+                if (pending.isEmpty()) return;
+            }
+            writes.submitCoalesced("jdbc:" + name, this::flush);
+        }
+
+        synchronized void discardPending() {
+            pending = new LinkedHashMap<>();
+        }
+
+        private synchronized Map<Object, Object[]> takePending() {
+            Map<Object, Object[]> batch = pending;
+            pending = new LinkedHashMap<>();
+            return batch;
+        }
+
+        /** Runs on the writer thread. */
+        private void flush() throws IOException {
+            Map<Object, Object[]> batch = takePending();
+            if (batch.isEmpty()) return;
+            List<Object[]> inserts = new ArrayList<>(batch.size());
+            for (Object[] row : batch.values()) {
+                if (row != DELETED) inserts.add(row);
+            }
+            try {
+                write(new ArrayList<>(batch.keySet()), inserts, false);
+                failures = 0;
+            } catch (SQLException e) {
+                // Keep the rows for the next flush unless something newer has replaced them
+                synchronized (this) {
+                    batch.forEach(pending::putIfAbsent);
+                }
+                // After that they wait for the next save or for close()
+                if (++failures <= MAX_RETRIES) {
+                    try {
+                        retries.schedule(this::retryPending, retryDelayMillis, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException closing) {
+                        // close() is already draining the pending rows
+                    }
+                }
+                throw new IOException("Could not write " + batch.size() + " pending " + name + " rows", e);
+            }
+        }
+
+        /** Runs on the writer thread. */
+        private void replaceAll(List<Object[]> rows) throws IOException {
+            try {
+                write(List.of(), rows, true);
+            } catch (SQLException e) {
+                throw new IOException("Could not rewrite " + name, e);
+            }
+        }
+
+        private void write(List<Object> deletedKeys, List<Object[]> inserts, boolean truncate) throws SQLException {
+            try (Connection c = dataSource.getConnection()) {
+                boolean autoCommit = c.getAutoCommit();
+                c.setAutoCommit(false);
+                try {
+                    if (truncate) {
+                        try (Statement st = c.createStatement()) {
+                            st.executeUpdate("DELETE FROM " + name);
+                        }
+                    }
+                    if (!deletedKeys.isEmpty()) {
+                        try (PreparedStatement ps = c.prepareStatement(deleteSql)) {
+                            for (Object key : deletedKeys) {
+                                ps.setObject(1, key);
+                                ps.addBatch();
+                            }
+                            ps.executeBatch();
+                        }
+                    }
+                    if (!inserts.isEmpty()) {
+                        try (PreparedStatement ps = c.prepareStatement(insertSql)) {
+                            for (Object[] row : inserts) {
+                                for (int i = 0; i < row.length; i++) {
+                                    ps.setObject(i + 1, row[i]);
+                                }
+                                ps.addBatch();
+                            }
+                            ps.executeBatch();
+                        }
+                    }
+                    c.commit();
+                } catch (SQLException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(autoCommit);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.amazi.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process counters, gauges and latency timers for the persistence and UI
+ * paths. Timers keep an HDR-style histogram: 16 linear buckets per power of
+ * two, so percentiles are within about 6% from nanoseconds up to hours in a
+ * fixed 8 KB per timer.
+ *
+ * On by default; -Damazi.metrics=false turns every call into a no-op check
+ * of a constant. With -Damazi.metrics.dump=metrics.json (or .csv) a snapshot
+ * is written every amazi.metrics.dumpSeconds (60 by default) and on shutdown.
+ * Admins can also view it from the dashboard's diagnostics panel.
+ */
+public final class Metrics {
+
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("amazi.metrics"));
+    private static final String DUMP_FILE = System.getProperty("amazi.metrics.dump");
+    private static final long DUMP_SECONDS = Long.getLong("amazi.metrics.dumpSeconds", 60);
+
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    // Dumps run here, off the FX and writer threads
+    private static final ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "metrics-dump");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        if (ENABLED && DUMP_FILE != null && !DUMP_FILE.isBlank()) {
+            dumper.scheduleWithFixedDelay(Metrics::dumpConfigured, DUMP_SECONDS, DUMP_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private Metrics() {}
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /** Registers a value that is read when a snapshot is taken, e.g. a record count or file size. */
+    public static void gauge(String name, LongSupplier value) {
+        if (ENABLED) gauges.put(name, value);
+    }
+
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Timer());
+    }
+
+    public static final class Counter {
+        private final LongAdder count = new LongAdder();
+
+        private Counter() {}
+
+        public void increment() {
+            if (ENABLED) count.increment();
+        }
+
+        public void add(long n) {
+            if (ENABLED) count.add(n);
+        }
+
+        public long value() {
+            return count.sum();
+        }
+    }
+
+    /**
+     * Latency histogram. Use as {@code long t = timer.start(); try { ... } finally { timer.stop(t); }}.
+     */
+    public static final class Timer {
+        private static final int SUB_BITS = 4;
+        private static final int SUB = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Timer() {}
+
+        public long start() {
+            return ENABLED ? System.nanoTime() : 0;
+        }
+
+        public void stop(long startNanos) {
+            if (ENABLED) record(System.nanoTime() - startNanos);
+        }
+
+        public void record(long nanos) {
+            if (!ENABLED || nanos < 0) return;
+            buckets.incrementAndGet(bucket(nanos));
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        static int bucket(long value) {
+            if (value < SUB) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int shift = exponent - SUB_BITS;
+            int sub = (int) (value >>> shift) & (SUB - 1);
+            return (shift + 1) * SUB + sub;
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < SUB) return bucket;
+            int shift = bucket / SUB - 1;
+            long lower = (long) (SUB + bucket % SUB) << shift;
+            return lower + (1L << shift) - 1;
+        }
+
+        private Row snapshot(String name) {
+            long n = count.sum();
+            if (n == 0) return new Row(name, "timer", 0, 0, 0, 0, 0, 0);
+            long[] counts = new long[BUCKETS];
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                seen += counts[i];
+            }
+            long longest = max.get();
+            return new Row(name, "timer", n, millis(total.sum() / (double) n),
+                    millis(Math.min(longest, percentile(counts, seen, 0.50))),
+                    millis(Math.min(longest, percentile(counts, seen, 0.90))),
+                    millis(Math.min(longest, percentile(counts, seen, 0.99))),
+                    millis(longest));
+        }
+
+        private static long percentile(long[] counts, long total, double q) {
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long running = 0;
+            for (int i = 0; i < counts.length; i++) {
+                running += counts[i];
+                if (running >= rank) return upperBound(i);
+            }
+            return 0;
+        }
+
+        private static double millis(double nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * One line of a snapshot. Counters and gauges only fill {@code count};
+     * timers fill the latency columns, in milliseconds.
+     */
+    public record Row(String name, String kind, long count, double meanMs,
+                      double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+        public boolean isTimer() {
+            return "timer".equals(kind);
+        }
+    }
+
+    /** Current values, sorted by kind and then name. */
+    public static List<Row> snapshot() {
+        List<Row> rows = new ArrayList<>();
+        new TreeMap<>(counters).forEach((name, c) -> rows.add(new Row(name, "counter", c.value(), 0, 0, 0, 0, 0)));
+        new TreeMap<>(gauges).forEach((name, g) -> rows.add(new Row(name, "gauge", readGauge(name, g), 0, 0, 0, 0, 0)));
+        new TreeMap<>(timers).forEach((name, t) -> rows.add(t.snapshot(name)));
+        return rows;
+    }
+
+    private static long readGauge(String name, LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Gauge " + name + " failed", e);
+            return -1;
+        }
+    }
+
+    // --- DUMP ---
+
+    /** Writes a snapshot as JSON or CSV, chosen by the file name like the data exports. */
+    public static void dump(Path target) throws IOException {
+        List<Row> rows = snapshot();
+        StringBuilder out = new StringBuilder(4096);
+        if (DataExporter.Format.forFile(target) == DataExporter.Format.JSONL) writeJson(out, rows);
+        else writeCsv(out, rows);
+
+        Path dir = target.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".part");
+        try {
+            Files.writeString(tmp, out, StandardCharsets.UTF_8);
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Runs {@link #dump} on the metrics thread. */
+    public static CompletableFuture<Void> dumpAsync(Path target) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                dump(target);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, dumper);
+    }
+
+    /** Writes the -Damazi.metrics.dump file, if one is configured; called periodically and on shutdown. */
+    static void dumpConfigured() {
+        if (!ENABLED || DUMP_FILE == null || DUMP_FILE.isBlank()) return;
+        try {
+            dump(Paths.get(DUMP_FILE));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not write metrics to " + DUMP_FILE, e);
+        }
+    }
+
+    private static void writeJson(StringBuilder out, List<Row> rows) {
+        out.append("{\"timestamp\":").append(System.currentTimeMillis());
+        for (String kind : List.of("counter", "gauge", "timer")) {
+            out.append(",\"").append(kind).append("s\":{");
+            boolean first = true;
+            for (Row row : rows) {
+                if (!row.kind().equals(kind)) continue;
+                if (!first) out.append(',');
+                first = false;
+                DataExporter.appendJsonString(out, row.name());
+                out.append(':');
+                if (!row.isTimer()) {
+                    out.append(row.count());
+                    continue;
+                }
+                out.append("{\"count\":").append(row.count())
+                        .append(",\"meanMs\":").append(format(row.meanMs()))
+                        .append(",\"p50Ms\":").append(format(row.p50Ms()))
+                        .append(",\"p90Ms\":").append(format(row.p90Ms()))
+                        .append(",\"p99Ms\":").append(format(row.p99Ms()))
+                        .append(",\"maxMs\":").append(format(row.maxMs())).append('}');
+            }
+            out.append('}');
+        }
+        out.append("}\n");
+    }
+
+    private static void writeCsv(StringBuilder out, List<Row> rows) {
+        out.append("name,kind,count,meanMs,p50Ms,p90Ms,p99Ms,maxMs\r\n");
+        for (Row row : rows) {
+            DataExporter.appendCsv(out, row.name());
+            out.append(',').append(row.kind()).append(',').append(row.count());
+            if (row.isTimer()) {
+                out.append(',').append(format(row.meanMs()))
+                        .append(',').append(format(row.p50Ms()))
+                        .append(',').append(format(row.p90Ms()))
+                        .append(',').append(format(row.p99Ms()))
+                        .append(',').append(format(row.maxMs()));
+            } else {
+                out.append(",,,,,");
+            }
+            out.append("\r\n");
+        }
+    }
+
+    static String format(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
@@ -0,0 +1,163 @@
+package com.amazi.service;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Screen switching for every controller. Each view's FXML is parsed once; its
+ * root, controller and Scene are then kept and reused, so going back to a
+ * screen is a stage.setScene instead of a full FXML parse and stylesheet load.
+ *
+ * Because controllers outlive a visit, anything that must be fresh per visit
+ * (reloading data, clearing forms, event subscriptions) belongs in
+ * {@link ViewLifecycle#onShow()} / {@link ViewLifecycle#onHide()} rather than
+ * in initialize(). initialize() may run on the pre-warm thread, so it should
+ * only set up the controller's own nodes.
+ */
+public final class NavigationService {
+
+    private static final Logger LOGGER = Logger.getLogger(NavigationService.class.getName());
+
+    public enum View {
+        LOGIN("/com/amazi/view/Login.fxml"),
+        REGISTER("/com/amazi/view/Register.fxml"),
+        STUDENT_DASHBOARD("/com/amazi/view/DashBoard.fxml"),
+        PORTFOLIO("/com/amazi/view/Portfolio.fxml"),
+        FACULTY_REVIEW("/com/amazi/view/FacultyReview.fxml"),
+        ADMIN_DASHBOARD("/com/amazi/view/AdminDashBoard.fxml");
+
+        private final String fxml;
+
+        View(String fxml) {
+            this.fxml = fxml;
+        }
+
+        /** Landing screen for a login role, or null for an unknown role. */
+        public static View forRole(String role) {
+            if (role == null) return null;
+            return switch (role.toLowerCase()) {
+                case "admin" -> ADMIN_DASHBOARD;
+                case "faculty" -> FACULTY_REVIEW;
+                case "student" -> STUDENT_DASHBOARD;
+                default -> null;
+            };
+        }
+    }
+
+    /** Optional controller hooks, called on the FX thread around each visit. */
+    public interface ViewLifecycle {
+        default void onShow() {}
+
+        default void onHide() {}
+    }
+
+    private record LoadedView(Parent root, Object controller) {}
+
+    private static final String STYLESHEET = stylesheet();
+
+    // Parsed templates, including ones still loading on the pre-warm thread
+    private static final Map<View, CompletableFuture<LoadedView>> templates = new ConcurrentHashMap<>();
+    // Scenes must be created on the FX thread, so they are made on first show
+    private static final Map<View, Scene> scenes = new EnumMap<>(View.class);
+    private static Object currentController;
+
+    private static final ExecutorService prewarmer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "view-prewarm");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private NavigationService() {}
+
+    /**
+     * Shows the view on the stage, reusing its cached Scene. Call on the FX thread.
+     * @param title the window title, or null to leave it unchanged
+     */
+    public static void show(Stage stage, View view, String title) throws IOException {
+        LoadedView loaded = obtain(view);
+        Scene scene = scenes.computeIfAbsent(view, v -> {
+            // The host gives the toast overlay a layer above the view's own root
+            Scene s = new Scene(new StackPane(loaded.root()));
+            if (STYLESHEET != null) s.getStylesheets().add(STYLESHEET);
+            return s;
+        });
+        ToastService.attach((StackPane) scene.getRoot());
+
+        if (currentController != loaded.controller() && currentController instanceof ViewLifecycle previous) {
+            previous.onHide();
+        }
+        if (stage.getScene() != scene) stage.setScene(scene);
+        if (title != null) stage.setTitle(title);
+        currentController = loaded.controller();
+        if (currentController instanceof ViewLifecycle next) {
+            next.onShow();
+        }
+        stage.show();
+    }
+
+    /**
+     * Parses the views on a background thread so the first visit is as fast as
+     * later ones. Views already cached or loading are skipped.
+     */
+    public static void prewarm(View... views) {
+        for (View view : views) {
+            if (view == null) continue;
+            templates.computeIfAbsent(view, v -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return load(v);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, prewarmer));
+        }
+    }
+
+    private static LoadedView obtain(View view) throws IOException {
+        CompletableFuture<LoadedView> pending = templates.get(view);
+        if (pending != null) {
+            try {
+                // A pre-warm still in flight is already ahead of a fresh parse
+                return pending.join();
+            } catch (CompletionException e) {
+                LOGGER.log(Level.WARNING, "Pre-loading " + view + " failed; loading it now", e.getCause());
+                templates.remove(view, pending);
+            }
+        }
+        LoadedView loaded = load(view);
+        templates.put(view, CompletableFuture.completedFuture(loaded));
+        return loaded;
+    }
+
+    private static LoadedView load(View view) throws IOException {
+        URL location = NavigationService.class.getResource(view.fxml);
+        if (location == null) throw new IOException("FXML not found: " + view.fxml);
+        FXMLLoader loader = new FXMLLoader(location);
+        Parent root = loader.load();
+        return new LoadedView(root, loader.getController());
+    }
+
+    private static String stylesheet() {
+        URL css = NavigationService.class.getResource("/css/style.css");
+        if (css == null) {
+            LOGGER.warning("Stylesheet not found at /css/style.css");
+            return null;
+        }
+        return css.toExternalForm();
+    }
+}
@@ -0,0 +1,238 @@
+package com.amazi.service;
+
+import com.amazi.model.StringPool;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Splits one pipe-delimited record of the data files into fields without
+ * copying it. reset() only records where each field starts and ends in the
+ * UTF-8 bytes; a field is decoded into a String when {@link #text} asks for
+ * it, and numbers are parsed straight from the bytes. One instance is reused
+ * for every line a reader handles, so it is not thread-safe.
+ *
+ * Field escaping: {@code \|} is a literal pipe, {@code \\} a backslash,
+ * {@code \n} and {@code \r} line breaks. A backslash before anything else is
+ * kept as is. Files written before escaping existed hold raw backslashes, so
+ * writers start every file with {@link #ESCAPED_HEADER}; readers unescape only
+ * after seeing it and read older files verbatim via {@link #escaped(boolean)}.
+ */
+public final class RecordTokenizer {
+
+    /** Marks the lines after it as escaped; older readers skip it as a short record. */
+    public static final String ESCAPED_HEADER = "#format=escaped";
+
+    private static final byte SEPARATOR = '|';
+    private static final byte ESCAPE = '\\';
+
+    private ByteBuffer bytes;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private int count;
+    private byte[] scratch = new byte[256];
+    private boolean unescape = true;
+
+    /** Whether the following lines use escaping; false reads them verbatim, as legacy files were written. */
+    public RecordTokenizer escaped(boolean escaped) {
+        unescape = escaped;
+        return this;
+    }
+
+    public static boolean isEscapedHeader(String line) {
+        return ESCAPED_HEADER.equals(line);
+    }
+
+    /** Tokenizes bytes [start, end) of the buffer; the buffer's position and limit are left alone. */
+    public RecordTokenizer reset(ByteBuffer buffer, int start, int end) {
+        bytes = buffer;
+        count = 0;
+        int fieldStart = start;
+        boolean fieldEscaped = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == ESCAPE && unescape) {
+                fieldEscaped = true;
+                i++;
+            } else if (b == SEPARATOR) {
+                addField(fieldStart, i, fieldEscaped);
+                fieldStart = i + 1;
+                fieldEscaped = false;
+            }
+        }
+        addField(fieldStart, end, fieldEscaped);
+        return this;
+    }
+
+    public RecordTokenizer reset(String line) {
+        byte[] encoded = line.getBytes(StandardCharsets.UTF_8);
+        return reset(ByteBuffer.wrap(encoded), 0, encoded.length);
+    }
+
+    private void addField(int start, int end, boolean hasEscapes) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = hasEscapes;
+        count++;
+    }
+
+    public int fieldCount() {
+        return count;
+    }
+
+    /** True if the field is missing or has no characters. */
+    public boolean isEmpty(int field) {
+        return field >= count || starts[field] == ends[field];
+    }
+
+    /** @return the decoded, unescaped field, or null if the record has fewer fields */
+    public String text(int field) {
+        if (field >= count) return null;
+        int start = starts[field];
+        int len = ends[field] - start;
+        if (len == 0) return "";
+        if (scratch.length < len) scratch = new byte[Math.max(len, scratch.length * 2)];
+        if (!escaped[field]) {
+            bytes.get(start, scratch, 0, len);
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+        int n = 0;
+        for (int i = start; i < start + len; i++) {
+            byte b = bytes.get(i);
+            if (b == ESCAPE && i + 1 < start + len) {
+                byte next = bytes.get(++i);
+                switch (next) {
+                    case 'n' -> b = '\n';
+                    case 'r' -> b = '\r';
+                    case '|', '\\' -> b = next;
+                    default -> {
+                        scratch[n++] = ESCAPE;
+                        b = next;
+                    }
+                }
+            }
+            scratch[n++] = b;
+        }
+        return new String(scratch, 0, n, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Like {@link #text(int)}, but returns the pool's instance when it already
+     * holds this value. Plain ASCII fields are hashed and compared in place,
+     * so a repeated value costs no String at all.
+     */
+    public String text(int field, StringPool pool) {
+        if (field >= count) return null;
+        int start = starts[field];
+        int end = ends[field];
+        if (escaped[field] || end - start > pool.maxLength()) return pool.intern(text(field));
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            byte b = bytes.get(i);
+            if (b < 0) return pool.intern(text(field));
+            hash = 31 * hash + b;
+        }
+        String candidate = pool.candidate(hash);
+        if (candidate != null && asciiEquals(candidate, start, end)) return candidate;
+        return pool.intern(text(field));
+    }
+
+    private boolean asciiEquals(String value, int start, int end) {
+        if (value.length() != end - start) return false;
+        for (int i = start; i < end; i++) {
+            if (bytes.get(i) != value.charAt(i - start)) return false;
+        }
+        return true;
+    }
+
+    /** Compares the field with an ASCII value, ignoring case, without decoding it. */
+    public boolean equalsIgnoreCase(int field, String ascii) {
+        if (field >= count || ends[field] - starts[field] != ascii.length()) return false;
+        int start = starts[field];
+        for (int i = 0; i < ascii.length(); i++) {
+            int b = bytes.get(start + i);
+            int c = ascii.charAt(i);
+            if (b == c) continue;
+            int lower = b | 0x20;
+            if (lower != (c | 0x20) || lower < 'a' || lower > 'z') return false;
+        }
+        return true;
+    }
+
+    /** Parses an optionally signed decimal field without creating a String. */
+    public long longValue(int field) {
+        if (isEmpty(field)) throw new NumberFormatException("empty field " + field);
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = bytes.get(i) == '-';
+        if (negative && ++i == end) throw new NumberFormatException("bad number in field " + field);
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("bad number in field " + field);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    public int intValue(int field) {
+        long value = longValue(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("number out of range in field " + field);
+        }
+        return (int) value;
+    }
+
+    /** Parses an ISO yyyy-mm-dd field from the bytes; null if it isn't one. */
+    public LocalDate dateValue(int field) {
+        if (isEmpty(field) || ends[field] - starts[field] != 10) return null;
+        int i = starts[field];
+        if (bytes.get(i + 4) != '-' || bytes.get(i + 7) != '-') return null;
+        int year = digits(i, 4);
+        int month = digits(i + 5, 2);
+        int day = digits(i + 8, 2);
+        if (year < 0 || month < 0 || day < 0) return null;
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private int digits(int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /** Appends the value with pipes, backslashes and line breaks escaped; null is written as empty. */
+    public static StringBuilder appendEscaped(StringBuilder out, String value) {
+        if (value == null) return out;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '|' -> out.append("\\|");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(ch);
+            }
+        }
+        return out;
+    }
+}
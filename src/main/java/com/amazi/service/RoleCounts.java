@@ -0,0 +1,9 @@
+package com.amazi.service;
+
+/**
+ * Point-in-time head count per role for the admin dashboard cards.
+ * DataManager keeps the underlying counters current as accounts change,
+ * so taking a snapshot does not walk the user list.
+ */
+public record RoleCounts(int students, int faculty, int admins, int pending, int total) {
+}
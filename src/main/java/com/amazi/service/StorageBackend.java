@@ -0,0 +1,26 @@
+package com.amazi.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Where {@link DataManager} keeps its data. The flat-file backend is the
+ * default; start with -Damazi.storage=jdbc to use a database instead
+ * (see {@link JdbcStorage} for the connection properties).
+ */
+public interface StorageBackend extends AutoCloseable {
+
+    UserRepository users();
+
+    SubmissionRepository submissions();
+
+    HistoryRepository history();
+
+    /** Files the backend keeps on local disk, reported as size gauges in {@link Metrics}. */
+    default List<Path> files() {
+        return List.of();
+    }
+
+    @Override
+    default void close() {}
+}
@@ -0,0 +1,21 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+/**
+ * A change to one submission, published by {@link DataManager} after the
+ * record has been stored.
+ */
+public record SubmissionEvent(Type type, Submission submission) {
+
+    public enum Type {
+        ADDED,
+        GRADED,          // grade, feedback or credit hours changed
+        STATUS_CHANGED,
+        REMOVED
+    }
+
+    public String studentName() {
+        return submission.getStudentName();
+    }
+}
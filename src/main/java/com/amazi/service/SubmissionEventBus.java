@@ -0,0 +1,78 @@
+package com.amazi.service;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers {@link SubmissionEvent}s to UI subscribers.
+ * Events published during one pass of the FX event loop are queued and
+ * handed over as a single batch on the next pass, so a burst of changes
+ * costs each subscriber one refresh. With no subscribers, publishing is a no-op.
+ */
+public class SubmissionEventBus {
+
+    private static final Logger LOGGER = Logger.getLogger(SubmissionEventBus.class.getName());
+
+    private record Subscriber(String studentKey, Consumer<List<SubmissionEvent>> listener) {}
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private List<SubmissionEvent> pending = new ArrayList<>();
+    private boolean drainScheduled;
+
+    /** Receives only the events for the given student's submissions. */
+    public Runnable subscribe(String studentName, Consumer<List<SubmissionEvent>> listener) {
+        Subscriber s = new Subscriber(SubmissionStore.normalize(studentName), listener);
+        subscribers.add(s);
+        return () -> subscribers.remove(s);
+    }
+
+    public void publish(SubmissionEvent event) {
+        if (subscribers.isEmpty()) return;
+        synchronized (this) {
+            pending.add(event);
+            if (drainScheduled) return;
+            drainScheduled = true;
+        }
+        try {
+            Platform.runLater(this::drain);
+        } catch (IllegalStateException e) {
+            // FX toolkit not running (headless tools); deliver inline
+            drain();
+        }
+    }
+
+    private void drain() {
+        List<SubmissionEvent> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            drainScheduled = false;
+        }
+
+        // Collapse repeated events of the same kind for the same record within the batch
+        Map<String, SubmissionEvent> unique = new LinkedHashMap<>();
+        for (SubmissionEvent e : batch) {
+            unique.put(e.type() + ":" + e.submission().getId(), e);
+        }
+
+        for (Subscriber s : subscribers) {
+            List<SubmissionEvent> mine = unique.values().stream()
+                    .filter(e -> s.studentKey().equals(SubmissionStore.normalize(e.studentName())))
+                    .toList();
+            if (mine.isEmpty()) continue;
+            try {
+                s.listener().accept(mine);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Submission listener failed", ex);
+            }
+        }
+    }
+}
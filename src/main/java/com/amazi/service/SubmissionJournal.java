@@ -0,0 +1,277 @@
+package com.amazi.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only change log sitting in front of the submissions snapshot file.
+ * Every mutation costs one small append; once enough entries pile up the
+ * log is folded back into a fresh snapshot on a background thread.
+ *
+ * Appends are handed to the shared {@link WriteBehindExecutor}, which owns the
+ * log file and flushes it once per batch rather than once per entry.
+ */
+public class SubmissionJournal {
+
+    private static final Logger LOGGER = Logger.getLogger(SubmissionJournal.class.getName());
+
+    static final String OP_UPSERT = "U";
+    static final String OP_DELETE = "D";
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path compactingFile;
+    private final int compactThreshold;
+    private final Supplier<List<String>> snapshotSource;
+    private final WriteBehindExecutor writes;
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "submission-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Only touched on the write-behind thread
+    private BufferedWriter writer;
+
+    private int pendingEntries;
+    private volatile boolean compactionRunning;
+
+    /**
+     * @param snapshotSource called on the mutating thread to capture the current
+     *                       records as snapshot lines when a compaction starts
+     */
+    public SubmissionJournal(String snapshotFile, String journalFile, int compactThreshold,
+                             Supplier<List<String>> snapshotSource, WriteBehindExecutor writes) {
+        this.snapshotFile = Paths.get(snapshotFile);
+        this.journalFile = Paths.get(journalFile);
+        this.compactingFile = Paths.get(journalFile + ".compacting");
+        this.compactThreshold = compactThreshold;
+        this.snapshotSource = snapshotSource;
+        this.writes = writes;
+        writes.onBatchEnd(this::flushWriter);
+    }
+
+    // --- WRITE PATH ---
+
+    public synchronized void appendUpsert(String recordLine) {
+        append(OP_UPSERT + "|" + recordLine);
+    }
+
+    /** Appends many upserts as a single write task, e.g. for a bulk import. */
+    public synchronized void appendUpserts(List<String> recordLines) {
+        if (recordLines.isEmpty()) return;
+        writes.submit(() -> {
+            openWriter();
+            for (String line : recordLines) {
+                writer.write(OP_UPSERT);
+                writer.write('|');
+                writer.write(line);
+                writer.newLine();
+            }
+        });
+        pendingEntries += recordLines.size();
+        if (pendingEntries >= compactThreshold && !compactionRunning) {
+            startCompaction();
+        }
+    }
+
+    public synchronized void appendDelete(String id) {
+        append(OP_DELETE + "|" + id);
+    }
+
+    private void append(String entry) {
+        writes.submit(() -> {
+            openWriter();
+            writer.write(entry);
+            writer.newLine();
+        });
+        pendingEntries++;
+        if (pendingEntries >= compactThreshold && !compactionRunning) {
+            startCompaction();
+        }
+    }
+
+    private void openWriter() throws IOException {
+        if (writer == null) {
+            boolean fresh = !Files.exists(journalFile) || Files.size(journalFile) == 0;
+            writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (fresh) {
+                writer.write(RecordTokenizer.ESCAPED_HEADER);
+                writer.newLine();
+            }
+        }
+    }
+
+    private void flushWriter() throws IOException {
+        if (writer != null) writer.flush();
+    }
+
+    // --- READ PATH ---
+
+    /** Receives a logged record line and whether it was written with escaping. */
+    @FunctionalInterface
+    public interface UpsertHandler {
+        void accept(String recordLine, boolean escaped);
+    }
+
+    /**
+     * Replays the log on top of an already loaded snapshot. A leftover
+     * ".compacting" file means the app stopped mid-compaction, so it is
+     * replayed first; upserts carry the full record, which makes this safe.
+     * Lines count as escaped once an {@link RecordTokenizer#ESCAPED_HEADER}
+     * has been seen; a rotation can append a newer log after an older one.
+     */
+    public synchronized void replay(UpsertHandler onUpsert, Consumer<String> onDelete) {
+        replayFile(compactingFile, onUpsert, onDelete);
+        replayFile(journalFile, onUpsert, onDelete);
+    }
+
+    private void replayFile(Path file, UpsertHandler onUpsert, Consumer<String> onDelete) {
+        if (!Files.exists(file)) return;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            boolean escaped = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (RecordTokenizer.isEscapedHeader(line)) {
+                    escaped = true;
+                    continue;
+                }
+                int sep = line.indexOf('|');
+                if (sep < 0) continue;
+                String op = line.substring(0, sep);
+                String payload = line.substring(sep + 1);
+                if (OP_UPSERT.equals(op)) onUpsert.accept(payload, escaped);
+                else if (OP_DELETE.equals(op)) onDelete.accept(payload);
+                pendingEntries++;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error replaying submission journal " + file, e);
+        }
+    }
+
+    public synchronized boolean hasPendingEntries() {
+        return pendingEntries > 0;
+    }
+
+    // --- COMPACTION ---
+
+    /**
+     * Folds everything into the snapshot and waits for it to reach the disk.
+     * Used at startup and for explicit full saves.
+     */
+    public synchronized void compactNow(List<String> lines) {
+        pendingEntries = 0;
+        writes.submit(() -> {
+            closeWriter();
+            // Snapshots are only ever written on the compactor thread, so this one
+            // waits for a background compaction already in flight instead of racing it.
+            // Holding the writer thread meanwhile keeps later appends out of the journal.
+            awaitCompactor(() -> {
+                writeSnapshot(lines);
+                Files.deleteIfExists(compactingFile);
+                Files.deleteIfExists(journalFile);
+            });
+        });
+        writes.flush(30, TimeUnit.SECONDS);
+    }
+
+    private void awaitCompactor(WriteBehindExecutor.Write task) throws IOException {
+        try {
+            compactor.submit(() -> {
+                task.run();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compacting " + snapshotFile);
+        }
+    }
+
+    private void startCompaction() {
+        // Capture the records on the caller's thread so the copy is consistent with the log
+        List<String> lines = snapshotSource.get();
+        pendingEntries = 0;
+        compactionRunning = true;
+        // Rotation is queued behind the appends it covers; the snapshot itself is written off the writer thread
+        writes.submit(() -> {
+            closeWriter();
+            try {
+                rotateJournal();
+            } catch (IOException e) {
+                compactionRunning = false;
+                throw e;
+            }
+            compactor.execute(() -> {
+                try {
+                    writeSnapshot(lines);
+                    Files.deleteIfExists(compactingFile);
+                } catch (IOException e) {
+                    LOGGER.log(Level.SEVERE, "Background submission compaction failed", e);
+                } finally {
+                    compactionRunning = false;
+                }
+            });
+        });
+    }
+
+    private void rotateJournal() throws IOException {
+        if (!Files.exists(compactingFile)) {
+            Files.move(journalFile, compactingFile);
+            return;
+        }
+        // A previous compaction failed, so its entries are not in the snapshot yet; keep them
+        try (OutputStream out = Files.newOutputStream(compactingFile, StandardOpenOption.APPEND)) {
+            Files.copy(journalFile, out);
+        }
+        Files.delete(journalFile);
+    }
+
+    /** Runs on the compactor thread only. */
+    private void writeSnapshot(List<String> lines) throws IOException {
+        Path dir = snapshotFile.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(RecordTokenizer.ESCAPED_HEADER);
+                out.newLine();
+                for (String line : lines) {
+                    out.write(line);
+                    out.newLine();
+                }
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        // Binary copy for fast startup; stamped with the text file it was built from
+        SubmissionSnapshotCodec.writeSidecar(snapshotFile, lines);
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer == null) return;
+        writer.close();
+        writer = null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+import java.util.List;
+
+/**
+ * Persistence for submissions, keyed by {@link Submission#getId()}.
+ * The record's fields are captured when a method is called, so callers may
+ * keep mutating the object afterwards.
+ */
+public interface SubmissionRepository {
+
+    /** Loads every stored submission; a storage failure is thrown rather than returned as an empty list. */
+    List<Submission> loadAll();
+
+    /** Inserts or replaces the record with the same id. */
+    void save(Submission submission);
+
+    void delete(String id);
+
+    /** Inserts or replaces a batch of records as one write, without waiting for it. */
+    default void saveBatch(List<Submission> submissions) {
+        for (Submission s : submissions) {
+            save(s);
+        }
+    }
+
+    /** Rewrites the whole data set and waits until it is durable. */
+    void saveAll(List<Submission> submissions);
+}
@@ -0,0 +1,182 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Substring search for the faculty review queue: a record matches when its
+ * student name or title contains the query, ignoring case ("ics" finds
+ * Physics). Like {@link UserSearchIndex}, each record's lower-cased
+ * "name title" text is split into trigrams and a query only checks the
+ * records listed under its rarest trigram; shorter queries scan the texts.
+ * Maintained by {@link SubmissionStore} on every put/remove, so it shares
+ * the store's FX-thread confinement.
+ *
+ * A record whose name and title did not change keeps its slot, so
+ * re-grading touches nothing. Replaced and removed slots are left dead
+ * until they outnumber the live ones, then everything is re-slotted.
+ */
+public class SubmissionSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_REBUILD_SLOTS = 1024;
+    // Keeps a trigram from spanning the name/title boundary
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private String[] idBySlot = new String[256];
+    private String[] textBySlot = new String[256];
+    // Value of {@link #version} when the slot was filled
+    private long[] indexedAt = new long[256];
+    private int slotCount;
+    private int liveCount;
+    private long version;
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /** Growable list of slot numbers; appended in slot order, so it stays sorted. */
+    private static final class Postings {
+        int[] slots = new int[2];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+
+    public void put(Submission s) {
+        String text = searchText(s);
+        Integer slot = slotById.get(s.getId());
+        if (slot != null) {
+            if (textBySlot[slot].equals(text)) return;
+            kill(slot);
+        }
+        addSlot(s.getId(), text);
+        rebuildIfSparse();
+    }
+
+    public void remove(String id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        kill(slot);
+        rebuildIfSparse();
+    }
+
+    public void clear() {
+        Arrays.fill(idBySlot, 0, slotCount, null);
+        Arrays.fill(textBySlot, 0, slotCount, null);
+        slotCount = 0;
+        liveCount = 0;
+        slotById.clear();
+        postings.clear();
+    }
+
+    /** @return ids of the records whose student name or title contains the query, ignoring case */
+    public Set<String> search(String query) {
+        String q = normalizeQuery(query);
+        Set<String> ids = new HashSet<>();
+        if (q.length() < GRAM) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (textBySlot[slot] != null && textBySlot[slot].contains(q)) ids.add(idBySlot[slot]);
+            }
+            return ids;
+        }
+
+        Postings rarest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Postings p = postings.get(q.substring(i, i + GRAM));
+            if (p == null) return ids;
+            if (rarest == null || p.size < rarest.size) rarest = p;
+        }
+        for (int i = 0; i < rarest.size; i++) {
+            int slot = rarest.slots[i];
+            if (textBySlot[slot] != null && textBySlot[slot].contains(q)) ids.add(idBySlot[slot]);
+        }
+        return ids;
+    }
+
+    /**
+     * Filter for a FilteredList: the query is resolved to the matching ids
+     * once, so each row is a set lookup. Records added or renamed after the
+     * query are checked against their own text, so the filter stays correct
+     * while the list keeps using it.
+     */
+    public Predicate<Submission> matcher(String query) {
+        String q = normalizeQuery(query);
+        if (q.isEmpty()) return s -> true;
+        Set<String> ids = search(q);
+        long queryVersion = version;
+        return s -> {
+            Integer slot = slotById.get(s.getId());
+            if (slot != null && indexedAt[slot] <= queryVersion) return ids.contains(s.getId());
+            return searchText(s).contains(q);
+        };
+    }
+
+    private void addSlot(String id, String text) {
+        if (slotCount == idBySlot.length) {
+            idBySlot = Arrays.copyOf(idBySlot, slotCount * 2);
+            textBySlot = Arrays.copyOf(textBySlot, slotCount * 2);
+            indexedAt = Arrays.copyOf(indexedAt, slotCount * 2);
+        }
+        int slot = slotCount++;
+        idBySlot[slot] = id;
+        textBySlot[slot] = text;
+        indexedAt[slot] = ++version;
+        slotById.put(id, slot);
+        liveCount++;
+        indexGrams(slot);
+    }
+
+    private void indexGrams(int slot) {
+        String text = textBySlot[slot];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM);
+            if (gram.indexOf(FIELD_SEPARATOR) >= 0 || !seen.add(gram)) continue;
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    private void kill(int slot) {
+        idBySlot[slot] = null;
+        textBySlot[slot] = null;
+        liveCount--;
+    }
+
+    private void rebuildIfSparse() {
+        if (slotCount > MIN_REBUILD_SLOTS && liveCount < slotCount / 2) rebuild();
+    }
+
+    private void rebuild() {
+        String[] ids = new String[liveCount];
+        String[] texts = new String[liveCount];
+        int n = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (idBySlot[slot] == null) continue;
+            ids[n] = idBySlot[slot];
+            texts[n++] = textBySlot[slot];
+        }
+        clear();
+        for (int i = 0; i < n; i++) {
+            addSlot(ids[i], texts[i]);
+        }
+    }
+
+    private static String normalizeQuery(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String searchText(Submission s) {
+        String name = s.getStudentName() == null ? "" : s.getStudentName();
+        String title = s.getTitle() == null ? "" : s.getTitle();
+        return (name + FIELD_SEPARATOR + title).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,7 @@
 package com.amazi.service;
 
 import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
 
 /**
  * Service to handle the transition of Portfolios from Draft to Submitted.
@@ -15,7 +16,7 @@ public class SubmissionService {
         if (submission == null) return false;
 
         // 1. Logic Check: Only "DRAFT" can be submitted
-        if (!"DRAFT".equalsIgnoreCase(submission.getStatus())) {
+        if (submission.getStatus() != SubmissionStatus.DRAFT) {
             System.err.println("Error: Portfolio is already " + submission.getStatus());
             return false;
         }
@@ -27,7 +28,7 @@ public class SubmissionService {
         }
 
         // 3. State Change: Lock the status
-        submission.setStatus("SUBMITTED");
+        submission.setStatus(SubmissionStatus.SUBMITTED);
 
         // UPDATED: Console Logging including new fields
         System.out.println("--- PORTFOLIO SUBMITTED ---");
@@ -45,6 +46,6 @@ public class SubmissionService {
      * Checks if a portfolio is currently in a state that allows editing.
      */
     public boolean canEdit(Submission submission) {
-        return submission != null && "DRAFT".equalsIgnoreCase(submission.getStatus());
+        return submission != null && submission.getStatus() == SubmissionStatus.DRAFT;
     }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary copy of submissions.txt kept next to it ("submissions.txt.bin") so
+ * startup can skip regex splitting. Layout, big-endian:
+ * <pre>
+ *   int   magic 'DSPB'
+ *   short version
+ *   long  size and long lastModified of the text snapshot it mirrors
+ *   int   dictionary size, then per entry: int byte length + UTF-8 bytes
+ *   int   record count, then per record: 8 int dictionary indexes
+ *         (id, title, course, student, feedback, description, organization,
+ *          email) + byte status + byte grade (enum ordinals) + int credits
+ *         + long lastUpdated
+ *         + int completion date as epoch day (Integer.MIN_VALUE if none)
+ * </pre>
+ * Repeated values such as student names and courses are stored once in the
+ * dictionary. Reordering SubmissionStatus or Grade needs a version bump.
+ * A sidecar whose recorded size/mtime no longer match the text file is
+ * ignored, so hand edits to submissions.txt always win.
+ */
+public final class SubmissionSnapshotCodec {
+
+    private static final Logger LOGGER = Logger.getLogger(SubmissionSnapshotCodec.class.getName());
+
+    private static final int MAGIC = 0x44535042; // "DSPB"
+    private static final short VERSION = 3;
+    private static final String SUFFIX = ".bin";
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int TEXT_FIELDS = 8;
+
+    private SubmissionSnapshotCodec() {}
+
+    public static Path sidecarFor(Path textSnapshot) {
+        return textSnapshot.resolveSibling(textSnapshot.getFileName() + SUFFIX);
+    }
+
+    // --- WRITE ---
+
+    /** Encodes the given snapshot lines and stamps the sidecar with the text file's current size/mtime. */
+    public static void writeSidecar(Path textSnapshot, List<String> lines) throws IOException {
+        List<Submission> records = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            Submission s = SubmissionTextFormat.parse(line);
+            if (s != null) records.add(s);
+        }
+        write(sidecarFor(textSnapshot), records, Files.size(textSnapshot),
+                Files.getLastModifiedTime(textSnapshot).toMillis());
+    }
+
+    public static void write(Path target, List<Submission> records, long textSize, long textModified) throws IOException {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] refs = new int[records.size() * TEXT_FIELDS];
+        int r = 0;
+        for (Submission s : records) {
+            refs[r++] = intern(s.getId(), index, dictionary);
+            refs[r++] = intern(s.getTitle(), index, dictionary);
+            refs[r++] = intern(s.getCourse(), index, dictionary);
+            refs[r++] = intern(s.getStudentName(), index, dictionary);
+            refs[r++] = intern(s.getFeedback(), index, dictionary);
+            refs[r++] = intern(s.getDescription(), index, dictionary);
+            refs[r++] = intern(s.getOrganizationName(), index, dictionary);
+            refs[r++] = intern(s.getEmail(), index, dictionary);
+        }
+
+        // Unique name, so a stale or concurrent .tmp can never be moved into place
+        Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeRecords(tmp, records, dictionary, refs, textSize, textModified);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeRecords(Path tmp, List<Submission> records, List<String> dictionary, int[] refs,
+                                     long textSize, long textModified) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(tmp, StandardOpenOption.TRUNCATE_EXISTING), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(textSize);
+            out.writeLong(textModified);
+
+            out.writeInt(dictionary.size());
+            for (String value : dictionary) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(records.size());
+            int r = 0;
+            for (Submission s : records) {
+                for (int f = 0; f < TEXT_FIELDS; f++) {
+                    out.writeInt(refs[r++]);
+                }
+                out.writeByte(s.getStatus().ordinal());
+                out.writeByte(s.getGrade().ordinal());
+                out.writeInt(s.getCreditHours());
+                out.writeLong(s.getLastUpdated());
+                out.writeInt(s.getCompletionDate() == null ? NO_DATE : (int) s.getCompletionDate().toEpochDay());
+            }
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> index, List<String> dictionary) {
+        String v = value == null ? "" : value;
+        Integer ref = index.get(v);
+        if (ref == null) {
+            ref = dictionary.size();
+            index.put(v, ref);
+            dictionary.add(v);
+        }
+        return ref;
+    }
+
+    // --- READ ---
+
+    /**
+     * @return the records, or null if the sidecar is missing, from another
+     *         version, or stale relative to the text snapshot
+     */
+    public static List<Submission> readSidecar(Path textSnapshot) {
+        Path sidecar = sidecarFor(textSnapshot);
+        if (!Files.exists(sidecar) || !Files.exists(textSnapshot)) return null;
+        try {
+            // Read onto the heap rather than mapped: a live mapping would stop the
+            // next compaction from replacing the sidecar on Windows until a GC ran
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(sidecar));
+            if (buf.getInt() != MAGIC || buf.getShort() != VERSION) return null;
+
+            long textSize = buf.getLong();
+            long textModified = buf.getLong();
+            if (textSize != Files.size(textSnapshot)
+                    || textModified != Files.getLastModifiedTime(textSnapshot).toMillis()) {
+                return null;
+            }
+
+            String[] dictionary = new String[buf.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[buf.getInt()];
+                buf.get(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int count = buf.getInt();
+            List<Submission> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = dictionary[buf.getInt()];
+                String title = dictionary[buf.getInt()];
+                String course = dictionary[buf.getInt()];
+                String student = dictionary[buf.getInt()];
+                String feedback = dictionary[buf.getInt()];
+                String description = dictionary[buf.getInt()];
+                String organization = dictionary[buf.getInt()];
+                String email = dictionary[buf.getInt()];
+                Submission s = new Submission(id, title, course, "Project", "General", null,
+                        description, "None", SubmissionStatus.byOrdinal(buf.get()), student);
+                s.setFeedback(feedback);
+                s.setGrade(Grade.byOrdinal(buf.get()));
+                s.setOrganizationName(organization);
+                s.setEmail(email);
+                s.setCreditHours(buf.getInt());
+                s.setLastUpdated(buf.getLong());
+                int completed = buf.getInt();
+                if (completed != NO_DATE) s.setCompletionDate(LocalDate.ofEpochDay(completed));
+                records.add(s);
+            }
+            return records;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Ignoring unreadable binary snapshot " + sidecar, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-shot conversion of a text submissions file into the binary snapshot.
+ * Usage: SubmissionSnapshotMigrator [submissions.txt]
+ * Legacy rows without an id are given one and the text file is rewritten with
+ * it first, so both files agree on record identity.
+ */
+public final class SubmissionSnapshotMigrator {
+
+    private SubmissionSnapshotMigrator() {}
+
+    public static void main(String[] args) throws IOException {
+        Path text = Paths.get(args.length > 0 ? args[0] : "submissions.txt");
+        if (!Files.exists(text)) {
+            System.err.println("No such file: " + text);
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        List<String> original = Files.readAllLines(text, StandardCharsets.UTF_8);
+        boolean escaped = !original.isEmpty() && RecordTokenizer.isEscapedHeader(original.get(0));
+        // Files from before escaping are rewritten too, so the header and the values agree
+        boolean rewrite = !escaped;
+        for (String line : original) {
+            Submission s = SubmissionTextFormat.parse(line, escaped);
+            if (s == null) continue;
+            if (SubmissionTextFormat.lacksId(line, escaped)) rewrite = true;
+            lines.add(SubmissionTextFormat.format(s));
+        }
+        if (rewrite) {
+            List<String> out = new ArrayList<>(lines.size() + 1);
+            out.add(RecordTokenizer.ESCAPED_HEADER);
+            out.addAll(lines);
+            Files.write(text, out, StandardCharsets.UTF_8);
+        }
+
+        SubmissionSnapshotCodec.writeSidecar(text, lines);
+        System.out.println("Wrote " + lines.size() + " records to " + SubmissionSnapshotCodec.sidecarFor(text));
+    }
+}
@@ -0,0 +1,154 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the text snapshot (submissions.txt) in parallel. The file is cut into
+ * chunks that end on a newline, each chunk is memory-mapped and parsed on the
+ * common fork-join pool, and the chunk results are joined back in file order.
+ * Small files end up as a single chunk, i.e. a plain sequential read.
+ */
+final class SubmissionSnapshotReader {
+
+    // Below this a chunk isn't worth a task of its own
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    // A single mapping is limited to 2 GB
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+    // Windows can't replace a file while a mapping of it is alive, and mappings are only released by GC.
+    // Compaction may rewrite submissions.txt right after loading, so there the chunks are read instead.
+    private static final boolean MAP_CHUNKS = !System.getProperty("os.name", "").startsWith("Windows");
+
+    /** @param legacyRows true if some line predates persisted ids (and so got a fresh one) */
+    record Result(List<Submission> records, boolean legacyRows) {}
+
+    private record Chunk(List<Submission> records, boolean legacyRows) {}
+
+    private SubmissionSnapshotReader() {}
+
+    static Result read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size);
+            int chunks = bounds.length - 1;
+            boolean escaped = startsWithEscapedHeader(channel);
+
+            List<Chunk> parsed = IntStream.range(0, chunks).parallel()
+                    .mapToObj(i -> parseChunk(channel, bounds[i], bounds[i + 1], escaped))
+                    .toList();
+
+            int total = 0;
+            for (Chunk c : parsed) total += c.records().size();
+            List<Submission> records = new ArrayList<>(total);
+            boolean legacy = false;
+            for (Chunk c : parsed) {
+                records.addAll(c.records());
+                legacy |= c.legacyRows();
+            }
+            return new Result(records, legacy);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // The header is only ever written as the first line, by the compaction
+    private static boolean startsWithEscapedHeader(FileChannel channel) throws IOException {
+        byte[] header = RecordTokenizer.ESCAPED_HEADER.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer probe = ByteBuffer.allocate(header.length + 1);
+        int n = channel.read(probe, 0);
+        if (n < header.length) return false;
+        for (int i = 0; i < header.length; i++) {
+            if (probe.get(i) != header[i]) return false;
+        }
+        return n == header.length || probe.get(header.length) == '\n' || probe.get(header.length) == '\r';
+    }
+
+    /** Offsets of chunk starts plus the file size; every inner boundary is just past a '\n'. */
+    private static long[] chunkBounds(FileChannel channel, long size) throws IOException {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism() + 1;
+        long byCores = (size + parallelism * 4L - 1) / (parallelism * 4L);
+        long target = Math.min(MAX_CHUNK_BYTES, Math.max(MIN_CHUNK_BYTES, byCores));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(8 * 1024);
+        long pos = target;
+        while (pos < size) {
+            long newline = nextNewline(channel, pos, size, probe);
+            if (newline < 0) break;
+            bounds.add(newline + 1);
+            pos = newline + 1 + target;
+        }
+        if (bounds.get(bounds.size() - 1) < size) bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    private static long nextNewline(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long pos = from;
+        while (pos < size) {
+            probe.clear();
+            int n = channel.read(probe, pos);
+            if (n <= 0) return -1;
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') return pos + i;
+            }
+            pos += n;
+        }
+        return -1;
+    }
+
+    private static Chunk parseChunk(FileChannel channel, long start, long end, boolean escaped) {
+        try {
+            ByteBuffer bytes = load(channel, start, end - start);
+            List<Submission> records = new ArrayList<>();
+            boolean legacy = false;
+            // Fields are sliced out of the mapped bytes; only the ones a record keeps get decoded
+            RecordTokenizer tokenizer = new RecordTokenizer().escaped(escaped);
+            int limit = bytes.limit();
+            int lineStart = 0;
+            for (int i = 0; i <= limit; i++) {
+                if (i < limit && bytes.get(i) != '\n') continue;
+                int lineEnd = i;
+                if (lineEnd > lineStart && bytes.get(lineEnd - 1) == '\r') lineEnd--;
+                if (lineEnd > lineStart) {
+                    tokenizer.reset(bytes, lineStart, lineEnd);
+                    Submission s = SubmissionTextFormat.parse(tokenizer);
+                    if (s != null) {
+                        records.add(s);
+                        if (SubmissionTextFormat.lacksId(tokenizer)) legacy = true;
+                    }
+                }
+                lineStart = i + 1;
+            }
+            return new Chunk(records, legacy);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer load(FileChannel channel, long start, long length) throws IOException {
+        if (MAP_CHUNKS) return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        long pos = start;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, pos);
+            if (n < 0) break;
+            pos += n;
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,254 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * In-memory submission store keyed by {@link Submission#getId()}, with a
+ * secondary index on the normalized (student, title) pair and a per-student
+ * bucket so one student's records can be listed without touching the rest.
+ * The ObservableList handed to the UI is a read-only view kept in step with
+ * the maps; it is never searched to find a record. Free-text search goes
+ * through a {@link SubmissionSearchIndex} updated alongside the other indexes.
+ */
+public class SubmissionStore {
+
+    private final Map<String, Submission> byId = new HashMap<>();
+    private final Map<String, String> idByStudentTitle = new HashMap<>();
+    private final Map<String, String> studentTitleById = new HashMap<>();
+    private final Map<String, Integer> positionById = new HashMap<>();
+    private final Map<String, Map<String, Submission>> byStudent = new HashMap<>();
+    private final Map<String, SubmissionState> stateById = new HashMap<>();
+    private final Map<String, AcademicTotals> totalsByStudent = new HashMap<>();
+    private final SubmissionSearchIndex searchIndex = new SubmissionSearchIndex();
+
+    /**
+     * The indexed fields of a record as they were last stored. Callers usually
+     * mutate a Submission in place before saving it, so this is the only way
+     * to tell what an update actually changed, and which student bucket and
+     * totals the record is still filed under.
+     */
+    public record SubmissionState(String studentKey, SubmissionStatus status, Grade grade, String feedback,
+                                  int creditHours) {
+        static SubmissionState of(Submission s) {
+            return new SubmissionState(normalize(s.getStudentName()), s.getStatus(), s.getGrade(), s.getFeedback(),
+                    s.getCreditHours());
+        }
+    }
+
+    private final ObservableList<Submission> rows = FXCollections.observableArrayList();
+    private final ObservableList<Submission> view = FXCollections.unmodifiableObservableList(rows);
+    // Mirrors rows.size() for readers off the FX thread, such as the metrics gauges
+    private volatile int publishedSize;
+
+    public SubmissionStore() {
+        rows.addListener((ListChangeListener<Submission>) change -> publishedSize = rows.size());
+    }
+
+    public ObservableList<Submission> view() {
+        return view;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /** Record count as of the last change; safe to read from any thread. */
+    public int publishedSize() {
+        return publishedSize;
+    }
+
+    public Submission get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    public SubmissionState stateOf(String id) {
+        return stateById.get(id);
+    }
+
+    public Submission findByStudentAndTitle(String studentName, String title) {
+        String id = idByStudentTitle.get(studentTitleKey(studentName, title));
+        return id == null ? null : byId.get(id);
+    }
+
+    /** Snapshot of one student's records in insertion order; cost is O(that student's count). */
+    public List<Submission> forStudent(String studentName) {
+        Map<String, Submission> bucket = byStudent.get(normalize(studentName));
+        return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket.values());
+    }
+
+    /** Copy of the student's running totals; O(1) regardless of record count. */
+    public AcademicTotals totalsFor(String studentName) {
+        AcademicTotals totals = totalsByStudent.get(normalize(studentName));
+        return totals == null ? new AcademicTotals() : totals.copy();
+    }
+
+    /** Name/title substring search; see {@link SubmissionSearchIndex#matcher}. */
+    public Predicate<Submission> search(String query) {
+        return searchIndex.matcher(query);
+    }
+
+    /**
+     * Inserts the submission or replaces the record with the same id in place.
+     * @return the stored state of the record being replaced, or null for a new id
+     */
+    public SubmissionState put(Submission submission) {
+        String id = submission.getId();
+        byId.put(id, submission);
+        SubmissionState state = SubmissionState.of(submission);
+        SubmissionState previousState = stateById.put(id, state);
+        reindexStudentTitle(id, submission);
+        // The replaced object is usually this same one, already edited, so only previousState knows where it was filed
+        if (previousState != null) {
+            if (!previousState.studentKey().equals(state.studentKey())) unbucket(id, previousState.studentKey());
+            untally(previousState);
+        }
+        // Re-putting an id the bucket already has keeps its place
+        bucket(submission, state.studentKey());
+        tally(state);
+        searchIndex.put(submission);
+
+        Integer pos = positionById.get(id);
+        if (pos == null) {
+            positionById.put(id, rows.size());
+            rows.add(submission);
+        } else {
+            rows.set(pos, submission);
+        }
+        return previousState;
+    }
+
+    /**
+     * Adds records whose ids are not stored yet, appending them to the view in
+     * one list change instead of one per record.
+     */
+    public void addAll(List<Submission> submissions) {
+        List<Submission> batch = new ArrayList<>(submissions.size());
+        for (Submission s : submissions) {
+            String id = s.getId();
+            if (byId.putIfAbsent(id, s) != null) continue;
+            SubmissionState state = SubmissionState.of(s);
+            stateById.put(id, state);
+            reindexStudentTitle(id, s);
+            bucket(s, state.studentKey());
+            tally(state);
+            searchIndex.put(s);
+            positionById.put(id, rows.size() + batch.size());
+            batch.add(s);
+        }
+        rows.addAll(batch);
+    }
+
+    /**
+     * Removes the record in O(1) by moving the last row into its slot,
+     * so the view order is not preserved across deletes.
+     */
+    public Submission remove(String id) {
+        Submission removed = byId.remove(id);
+        if (removed == null) return null;
+        SubmissionState state = stateById.remove(id);
+        unbucket(id, state.studentKey());
+        untally(state);
+        searchIndex.remove(id);
+
+        String key = studentTitleById.remove(id);
+        if (key != null && id.equals(idByStudentTitle.get(key))) {
+            idByStudentTitle.remove(key);
+        }
+
+        int pos = positionById.remove(id);
+        int last = rows.size() - 1;
+        if (pos != last) {
+            Submission moved = rows.get(last);
+            rows.set(pos, moved);
+            positionById.put(moved.getId(), pos);
+        }
+        rows.remove(last);
+        return removed;
+    }
+
+    /** Replaces the whole content, e.g. after loading from disk. */
+    public void replaceAll(Iterable<Submission> submissions) {
+        byId.clear();
+        idByStudentTitle.clear();
+        studentTitleById.clear();
+        positionById.clear();
+        byStudent.clear();
+        stateById.clear();
+        totalsByStudent.clear();
+        searchIndex.clear();
+
+        List<Submission> batch = new ArrayList<>();
+        for (Submission s : submissions) {
+            Submission previous = byId.put(s.getId(), s);
+            SubmissionState state = SubmissionState.of(s);
+            SubmissionState previousState = stateById.put(s.getId(), state);
+            if (previous == null) {
+                positionById.put(s.getId(), batch.size());
+                batch.add(s);
+            } else {
+                batch.set(positionById.get(s.getId()), s);
+                if (!previousState.studentKey().equals(state.studentKey())) unbucket(s.getId(), previousState.studentKey());
+                untally(previousState);
+            }
+            reindexStudentTitle(s.getId(), s);
+            bucket(s, state.studentKey());
+            tally(state);
+            searchIndex.put(s);
+        }
+        rows.setAll(batch);
+    }
+
+    private void reindexStudentTitle(String id, Submission s) {
+        String newKey = studentTitleKey(s.getStudentName(), s.getTitle());
+        String oldKey = studentTitleById.put(id, newKey);
+        if (oldKey != null && !oldKey.equals(newKey) && id.equals(idByStudentTitle.get(oldKey))) {
+            idByStudentTitle.remove(oldKey);
+        }
+        idByStudentTitle.put(newKey, id);
+    }
+
+    private void bucket(Submission s, String studentKey) {
+        byStudent.computeIfAbsent(studentKey, k -> new LinkedHashMap<>()).put(s.getId(), s);
+    }
+
+    private void unbucket(String id, String studentKey) {
+        Map<String, Submission> bucket = byStudent.get(studentKey);
+        if (bucket == null) return;
+        bucket.remove(id);
+        if (bucket.isEmpty()) byStudent.remove(studentKey);
+    }
+
+    private void tally(SubmissionState state) {
+        totalsByStudent.computeIfAbsent(state.studentKey(), k -> new AcademicTotals()).add(state);
+    }
+
+    private void untally(SubmissionState state) {
+        AcademicTotals totals = totalsByStudent.get(state.studentKey());
+        if (totals != null) {
+            totals.subtract(state);
+            if (totals.isEmpty()) totalsByStudent.remove(state.studentKey());
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String studentTitleKey(String studentName, String title) {
+        return normalize(studentName) + "\u0000" + normalize(title);
+    }
+}
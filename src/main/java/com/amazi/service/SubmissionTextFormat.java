@@ -0,0 +1,160 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.StringPool;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The pipe-delimited line layout of submissions.txt and the submission journal:
+ * title|course|student|status|feedback|grade|description|organization|email|credits|lastUpdated|id|completionDate
+ * Text fields are escaped as described in {@link RecordTokenizer}. Older files
+ * stop after id (or earlier); missing columns get defaults, and a missing
+ * completion date is taken from lastUpdated.
+ */
+public final class SubmissionTextFormat {
+
+    private static final Logger LOGGER = Logger.getLogger(SubmissionTextFormat.class.getName());
+
+    private static final int TITLE = 0;
+    private static final int COURSE = 1;
+    private static final int STUDENT = 2;
+    private static final int STATUS = 3;
+    private static final int FEEDBACK = 4;
+    private static final int GRADE = 5;
+    private static final int DESCRIPTION = 6;
+    private static final int ORGANIZATION = 7;
+    private static final int EMAIL = 8;
+    private static final int CREDITS = 9;
+    private static final int LAST_UPDATED = 10;
+    private static final int ID = 11;
+    private static final int COMPLETION_DATE = 12;
+
+    static final int COLUMNS = 13;
+    private static final int MIN_COLUMNS = 6;
+
+    private static final SubmissionStatus[] STATUSES = SubmissionStatus.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    // For callers that only have a String line (journal replay, sidecar, migrator)
+    private static final ThreadLocal<RecordTokenizer> TOKENIZER = ThreadLocal.withInitial(RecordTokenizer::new);
+
+    private SubmissionTextFormat() {}
+
+    /** @return the parsed record, or null if the line is too short or malformed */
+    public static Submission parse(String line) {
+        return parse(line, true);
+    }
+
+    /** @param escaped false for lines from a file without {@link RecordTokenizer#ESCAPED_HEADER} */
+    public static Submission parse(String line, boolean escaped) {
+        return parse(TOKENIZER.get().escaped(escaped).reset(line));
+    }
+
+    /** Builds the record from an already tokenized line; see {@link SubmissionSnapshotReader}. */
+    public static Submission parse(RecordTokenizer t) {
+        if (t.fieldCount() < MIN_COLUMNS) return null;
+        try {
+            long lastUpdated = t.isEmpty(LAST_UPDATED) ? System.currentTimeMillis() : t.longValue(LAST_UPDATED);
+            String description = t.fieldCount() > DESCRIPTION ? t.text(DESCRIPTION) : "No description";
+            Submission s = new Submission(
+                    t.isEmpty(ID) ? null : t.text(ID),
+                    t.text(TITLE), t.text(COURSE, StringPool.COURSES), "Project", "General",
+                    completionDate(t, lastUpdated),
+                    description, "None", status(t), t.text(STUDENT, StringPool.STUDENT_NAMES)
+            );
+            s.setFeedback(t.text(FEEDBACK, StringPool.FEEDBACK));
+            s.setGrade(grade(t));
+            if (t.fieldCount() > ORGANIZATION) s.setOrganizationName(t.text(ORGANIZATION, StringPool.ORGANIZATIONS));
+            if (t.fieldCount() > EMAIL) s.setEmail(t.text(EMAIL, StringPool.EMAILS));
+            if (!t.isEmpty(CREDITS)) s.setCreditHours(credits(t));
+            s.setLastUpdated(lastUpdated);
+            return s;
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Skipping malformed submission record: {0}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Status and grade are matched against the enum names in place; only odd spellings get decoded
+    private static SubmissionStatus status(RecordTokenizer t) {
+        for (SubmissionStatus status : STATUSES) {
+            if (t.equalsIgnoreCase(STATUS, status.name())) return status;
+        }
+        SubmissionStatus status = SubmissionStatus.parse(t.text(STATUS));
+        if (status != null) return status;
+        LOGGER.log(Level.WARNING, "Unknown submission status {0}, loading it as PENDING", t.text(STATUS));
+        return SubmissionStatus.PENDING;
+    }
+
+    private static Grade grade(RecordTokenizer t) {
+        for (Grade grade : GRADES) {
+            if (t.equalsIgnoreCase(GRADE, grade.label())) return grade;
+        }
+        Grade grade = Grade.parse(t.text(GRADE));
+        if (grade != null) return grade;
+        LOGGER.log(Level.WARNING, "Unknown grade {0}, loading it as ungraded", t.text(GRADE));
+        return Grade.NONE;
+    }
+
+    private static int credits(RecordTokenizer t) {
+        try {
+            int credits = t.intValue(CREDITS);
+            if (credits >= 0) return credits;
+        } catch (NumberFormatException e) {
+            // Falls through to the warning below
+        }
+        LOGGER.log(Level.WARNING, "Credit hours {0} are not a whole number, loading them as 0", t.text(CREDITS));
+        return 0;
+    }
+
+    private static LocalDate completionDate(RecordTokenizer t, long lastUpdated) {
+        if (!t.isEmpty(COMPLETION_DATE)) {
+            LocalDate date = t.dateValue(COMPLETION_DATE);
+            if (date != null) return date;
+        }
+        return completionDateFallback(lastUpdated);
+    }
+
+    /** Date given to records stored without one: the day they were last updated, so it is stable across loads. */
+    static LocalDate completionDateFallback(long lastUpdated) {
+        return Instant.ofEpochMilli(lastUpdated).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /** True if the line predates persisted ids, so parsing it generated a fresh one. */
+    public static boolean lacksId(String line, boolean escaped) {
+        return lacksId(TOKENIZER.get().escaped(escaped).reset(line));
+    }
+
+    public static boolean lacksId(RecordTokenizer t) {
+        return t.fieldCount() <= ID;
+    }
+
+    public static String format(Submission s) {
+        StringBuilder line = new StringBuilder(128);
+        field(line, s.getTitle());
+        field(line, s.getCourse());
+        field(line, s.getStudentName());
+        line.append(s.getStatus().name()).append('|');
+        field(line, s.getFeedback() == null || s.getFeedback().isEmpty() ? "No feedback" : s.getFeedback());
+        line.append(s.getGrade().label()).append('|');
+        field(line, s.getDescription());
+        field(line, s.getOrganizationName());
+        field(line, s.getEmail());
+        line.append(s.getCreditHours()).append('|');
+        line.append(s.getLastUpdated()).append('|');
+        field(line, s.getId());
+        if (s.getCompletionDate() != null) line.append(s.getCompletionDate());
+        return line.toString();
+    }
+
+    private static void field(StringBuilder line, String value) {
+        RecordTokenizer.appendEscaped(line, value).append('|');
+    }
+}
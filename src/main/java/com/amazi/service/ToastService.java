@@ -0,0 +1,206 @@
+package com.amazi.service;
+
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Short status notifications drawn inside the main window instead of in
+ * their own transparent Stage. {@link NavigationService} wraps every view in
+ * a StackPane and hands it to {@link #attach(StackPane)}, so one overlay
+ * layer follows the user from screen to screen.
+ *
+ * A fixed pool of toast nodes and their animations is built once and reused.
+ * Messages wait in a bounded queue; a message equal to one already showing
+ * or waiting is merged into it with a repeat count, and new toasts appear
+ * at most once per {@link #MIN_GAP}, so a bulk action can't flood the screen.
+ */
+public final class ToastService {
+
+    private static final int SLOTS = 3;
+    private static final int MAX_QUEUED = 20;
+    private static final Duration FADE_IN = Duration.millis(300);
+    private static final Duration HOLD = Duration.seconds(1.5);
+    private static final Duration FADE_OUT = Duration.millis(500);
+    private static final Duration MIN_GAP = Duration.millis(150);
+
+    private static final class Pending {
+        final String message;
+        int count = 1;
+
+        Pending(String message) {
+            this.message = message;
+        }
+    }
+
+    /** One reusable toast: its node and animation are created once. */
+    private static final class Slot {
+        final StackPane node = new StackPane();
+        final Label label = new Label();
+        final SequentialTransition animation;
+        String message;
+        int count;
+
+        Slot() {
+            label.getStyleClass().add("toast-label");
+            node.getStyleClass().add("toast-root");
+            node.getChildren().add(label);
+            node.setMaxSize(StackPane.USE_PREF_SIZE, StackPane.USE_PREF_SIZE);
+            hide();
+
+            FadeTransition in = new FadeTransition(FADE_IN, node);
+            in.setFromValue(0);
+            in.setToValue(0.9);
+            FadeTransition out = new FadeTransition(FADE_OUT, node);
+            out.setFromValue(0.9);
+            out.setToValue(0);
+            animation = new SequentialTransition(in, new PauseTransition(HOLD), out);
+            animation.setOnFinished(e -> {
+                message = null;
+                hide();
+                pump();
+            });
+        }
+
+        boolean isFree() {
+            return message == null;
+        }
+
+        void show(Pending p) {
+            message = p.message;
+            count = p.count;
+            updateText();
+            node.setOpacity(0);
+            node.setVisible(true);
+            node.setManaged(true);
+            // Newest toast at the bottom, nearest the user's eye line
+            node.toFront();
+            animation.playFromStart();
+        }
+
+        // A repeat keeps the toast up for another full hold without fading it out and in again
+        void repeat(int times) {
+            count += times;
+            updateText();
+            if (animation.getCurrentTime().greaterThan(FADE_IN)) {
+                node.setOpacity(0.9);
+                animation.playFrom(FADE_IN);
+            }
+        }
+
+        private void updateText() {
+            label.setText(count > 1 ? message + "  ×" + count : message);
+        }
+
+        private void hide() {
+            node.setVisible(false);
+            node.setManaged(false);
+        }
+    }
+
+    private static VBox layer;
+    private static Slot[] slots;
+    private static final Deque<Pending> queue = new ArrayDeque<>();
+    private static long lastShownNanos;
+    private static PauseTransition gate;
+
+    private ToastService() {}
+
+    /** Queues a message; safe to call from any thread. */
+    public static void show(String message) {
+        if (message == null || message.isBlank()) return;
+        try {
+            if (Platform.isFxApplicationThread()) {
+                enqueue(message);
+            } else {
+                Platform.runLater(() -> enqueue(message));
+            }
+        } catch (IllegalStateException e) {
+            // FX toolkit not running (headless use of the services); nothing to draw on
+        }
+    }
+
+    /** Moves the overlay on top of the given view host. Call on the FX thread. */
+    public static void attach(StackPane host) {
+        VBox overlay = layer();
+        if (overlay.getParent() == host) return;
+        if (overlay.getParent() instanceof StackPane previous) {
+            previous.getChildren().remove(overlay);
+        }
+        host.getChildren().add(overlay);
+    }
+
+    private static VBox layer() {
+        if (layer == null) {
+            layer = new VBox(8);
+            layer.setAlignment(Pos.BOTTOM_CENTER);
+            layer.setPadding(new Insets(0, 0, 40, 0));
+            layer.setMouseTransparent(true);
+            layer.setPickOnBounds(false);
+            slots = new Slot[SLOTS];
+            for (int i = 0; i < SLOTS; i++) {
+                slots[i] = new Slot();
+                layer.getChildren().add(slots[i].node);
+            }
+            gate = new PauseTransition();
+            gate.setOnFinished(e -> pump());
+        }
+        return layer;
+    }
+
+    private static void enqueue(String message) {
+        layer();
+        for (Slot slot : slots) {
+            if (message.equals(slot.message)) {
+                slot.repeat(1);
+                return;
+            }
+        }
+        for (Pending p : queue) {
+            if (message.equals(p.message)) {
+                p.count++;
+                return;
+            }
+        }
+        if (queue.size() == MAX_QUEUED) queue.pollFirst();
+        queue.addLast(new Pending(message));
+        pump();
+    }
+
+    private static void pump() {
+        if (queue.isEmpty() || gate.getStatus() == Animation.Status.RUNNING) return;
+        Slot free = null;
+        for (Slot slot : slots) {
+            if (slot.isFree()) {
+                free = slot;
+                break;
+            }
+        }
+        // A finishing toast calls pump() again, so nothing waits on a timer here
+        if (free == null) return;
+
+        double sinceLast = (System.nanoTime() - lastShownNanos) / 1_000_000.0;
+        if (sinceLast < MIN_GAP.toMillis()) {
+            gate.setDuration(Duration.millis(MIN_GAP.toMillis() - sinceLast));
+            gate.playFromStart();
+            return;
+        }
+        lastShownNanos = System.nanoTime();
+        free.show(queue.pollFirst());
+        if (!queue.isEmpty()) {
+            gate.setDuration(MIN_GAP);
+            gate.playFromStart();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.amazi.service;
+
+import com.amazi.model.User;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistence for user accounts. Writes are expected to be cheap for the
+ * caller; implementations queue them on the shared {@link WriteBehindExecutor}.
+ */
+public interface UserRepository {
+
+    /** Loads every stored account; a storage failure is thrown rather than returned as an empty list. */
+    List<User> loadAll();
+
+    /** True only if the store holds no accounts at all, even unreadable ones. */
+    boolean isEmpty();
+
+    /** Inserts or replaces the account with the same user id. */
+    void save(User user);
+
+    void delete(int userId);
+
+    /**
+     * Inserts or replaces each account, as {@link #save} does, persisted as one
+     * write. Other stored accounts are kept.
+     */
+    default void saveBatch(Collection<User> users) {
+        for (User u : users) {
+            save(u);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.amazi.service;
+
+import com.amazi.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Substring search over user names and emails. Each account's lower-cased
+ * "name email" text is stored once and split into trigrams; a query only
+ * checks the accounts listed under its rarest trigram instead of every user.
+ * Queries shorter than a trigram scan the pre-lower-cased text.
+ *
+ * Removed accounts leave an empty slot until half of the slots are empty,
+ * then the postings are rebuilt.
+ */
+public class UserSearchIndex {
+
+    private static final int GRAM = 3;
+    // Keeps a trigram from spanning the name/email boundary
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private User[] users = new User[64];
+    private String[] texts = new String[64];
+    private int slotCount;
+    private int liveCount;
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /** Growable list of slot numbers; appended in slot order, so it stays sorted. */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+
+    public synchronized void add(User user) {
+        if (slotById.containsKey(user.getUserID())) remove(user);
+        if (slotCount == users.length) {
+            users = Arrays.copyOf(users, slotCount * 2);
+            texts = Arrays.copyOf(texts, slotCount * 2);
+        }
+        int slot = slotCount++;
+        users[slot] = user;
+        texts[slot] = searchText(user);
+        slotById.put(user.getUserID(), slot);
+        liveCount++;
+        indexGrams(slot);
+    }
+
+    public synchronized void remove(User user) {
+        Integer slot = slotById.remove(user.getUserID());
+        if (slot == null) return;
+        users[slot] = null;
+        texts[slot] = null;
+        liveCount--;
+        if (slotCount > 64 && liveCount < slotCount / 2) rebuild();
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(users, 0, slotCount, null);
+        Arrays.fill(texts, 0, slotCount, null);
+        slotCount = 0;
+        liveCount = 0;
+        slotById.clear();
+        postings.clear();
+    }
+
+    /** @return the accounts whose name or email contains the query, ignoring case, in insertion order */
+    public synchronized List<User> search(String query) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<User> hits = new ArrayList<>();
+        if (q.length() < GRAM) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (texts[slot] != null && texts[slot].contains(q)) hits.add(users[slot]);
+            }
+            return hits;
+        }
+
+        Postings rarest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Postings p = postings.get(q.substring(i, i + GRAM));
+            if (p == null) return hits;
+            if (rarest == null || p.size < rarest.size) rarest = p;
+        }
+        for (int i = 0; i < rarest.size; i++) {
+            int slot = rarest.slots[i];
+            if (texts[slot] != null && texts[slot].contains(q)) hits.add(users[slot]);
+        }
+        return hits;
+    }
+
+    private static String searchText(User user) {
+        String name = user.getName() == null ? "" : user.getName();
+        String email = user.getEmail() == null ? "" : user.getEmail();
+        return (name + FIELD_SEPARATOR + email).toLowerCase(Locale.ROOT);
+    }
+
+    private void indexGrams(int slot) {
+        String text = texts[slot];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM);
+            if (gram.indexOf(FIELD_SEPARATOR) >= 0 || !seen.add(gram)) continue;
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    private void rebuild() {
+        User[] live = new User[liveCount];
+        int n = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (users[slot] != null) live[n++] = users[slot];
+        }
+        clear();
+        for (User u : live) {
+            add(u);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.amazi.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single background thread that performs all file writes for {@link DataManager}.
+ * Callers capture what to write on their own thread and hand over a task; the
+ * worker drains whatever has queued up, runs it, then runs the batch-end hooks
+ * (e.g. one flush of the journal) once for the whole burst.
+ *
+ * The queue is bounded: if the disk falls far behind, {@link #submit} blocks
+ * until there is room again instead of growing without limit.
+ */
+public class WriteBehindExecutor {
+
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindExecutor.class.getName());
+    private static final int MAX_BATCH = 1024;
+
+    @FunctionalInterface
+    public interface Write {
+        void run() throws IOException;
+    }
+
+    private final BlockingQueue<Runnable> queue;
+    private final Map<String, Write> coalesced = new ConcurrentHashMap<>();
+    private final List<Write> batchEndHooks = new CopyOnWriteArrayList<>();
+    private final Thread worker;
+
+    public WriteBehindExecutor(String name, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drainLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Queues a write; writes run in submission order. */
+    public void submit(Write write) {
+        enqueue(() -> runSafely(write));
+    }
+
+    /**
+     * Queues a write that supersedes any not-yet-run write with the same key,
+     * e.g. full rewrites of users.txt where only the latest content matters.
+     */
+    public void submitCoalesced(String key, Write write) {
+        if (coalesced.put(key, write) == null) {
+            enqueue(() -> {
+                Write latest = coalesced.remove(key);
+                if (latest != null) runSafely(latest);
+            });
+        }
+    }
+
+    /** Runs once after every drained batch, on the writer thread. */
+    public void onBatchEnd(Write hook) {
+        batchEndHooks.add(hook);
+    }
+
+    /**
+     * Durability barrier: waits until everything queued before this call has been
+     * written and the batch-end hooks have run.
+     * @return false if the timeout elapsed first
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        if (Thread.currentThread() == worker) {
+            runBatchEndHooks();
+            return true;
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(() -> {
+            runBatchEndHooks();
+            done.complete(null);
+        });
+        try {
+            done.get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.WARNING, "Persistence flush did not complete", e);
+            return false;
+        }
+    }
+
+    public int pendingWrites() {
+        return queue.size();
+    }
+
+    // Never runs a write inline: it would race the worker on the same files.
+    // An interrupt only ends the wait early, so keep waiting and restore it afterwards.
+    private void enqueue(Runnable task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    queue.put(task);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<Runnable> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            for (Runnable task : batch) {
+                task.run();
+            }
+            batch.clear();
+            runBatchEndHooks();
+        }
+    }
+
+    private void runBatchEndHooks() {
+        for (Write hook : batchEndHooks) {
+            runSafely(hook);
+        }
+    }
+
+    private static void runSafely(Write write) {
+        try {
+            write.run();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Background write failed", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.amazi.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringPoolTest {
+
+    @Test
+    void equalValuesShareOneInstance() {
+        StringPool pool = new StringPool(16, 32);
+        String first = pool.intern(new String("Physics"));
+        String second = pool.intern(new String("Physics"));
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void longAndNullValuesPassThrough() {
+        StringPool pool = new StringPool(16, 4);
+        String longValue = new String("Chemistry");
+        assertSame(longValue, pool.intern(longValue));
+        assertNotSame(longValue, pool.intern(new String("Chemistry")));
+        assertNull(pool.intern(null));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void collidingValueReplacesTheSlot() {
+        // "Aa" and "BB" share a hash code, so they always land in the same slot
+        StringPool pool = new StringPool(16, 32);
+        String aa = pool.intern(new String("Aa"));
+        String bb = pool.intern(new String("BB"));
+        assertEquals(1, pool.size());
+        assertSame(bb, pool.candidate("BB".hashCode()));
+        // The evicted value is simply pooled again: a missed dedup, not a wrong answer
+        String again = pool.intern(new String("Aa"));
+        assertEquals("Aa", again);
+        assertNotSame(aa, again);
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(100, 32));
+    }
+}
@@ -0,0 +1,101 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkImporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void directoryExportImportsWithoutPasswords() throws IOException {
+        // The column layout DataExporter writes for users: no password column
+        Path file = write("users.csv", "id,name,username,email,role\r\n"
+                + "1,\"Smith, Ada\",ada,ada@example.com,Student\r\n"
+                + "2,Bob,bob,bob@example.com,Faculty\r\n");
+
+        List<BulkImporter.Parsed<BulkImporter.UserRow>> rows = BulkImporter.parseUsers(file);
+
+        assertEquals(2, rows.size());
+        BulkImporter.UserRow ada = rows.get(0).value();
+        assertEquals("Smith, Ada", ada.name());
+        assertNull(ada.password());
+        assertEquals("Faculty", rows.get(1).value().role());
+    }
+
+    @Test
+    void rowErrorsCarryTheirLineNumber() throws IOException {
+        Path file = write("users.csv", "name,username,email,password,role\n"
+                + "Ada,ada,ada@example.com,secret,Student\n"
+                + "Bob,bob,not-an-email,secret,Student\n"
+                + "Cy,cy,cy@example.com,secret,Wizard\n");
+
+        List<BulkImporter.Parsed<BulkImporter.UserRow>> rows = BulkImporter.parseUsers(file);
+
+        assertNull(rows.get(0).error());
+        assertEquals(3, rows.get(1).line());
+        assertEquals("invalid email: not-an-email", rows.get(1).error());
+        assertEquals("unknown role: Wizard", rows.get(2).error());
+    }
+
+    @Test
+    void quotedCsvFieldsMaySpanLines() throws IOException {
+        Path file = write("submissions.csv", "student,title,description,status,grade,creditHours\n"
+                + "Ada,Lab 1,\"First line\nsecond \"\"quoted\"\" line\",approved,B+,3\n"
+                + "Bob,Essay,Short,pending,,\n");
+
+        List<BulkImporter.Parsed<BulkImporter.SubmissionRow>> rows = BulkImporter.parseSubmissions(file);
+
+        assertEquals(2, rows.size());
+        Submission lab = rows.get(0).value().submission();
+        assertEquals("First line\nsecond \"quoted\" line", lab.getDescription());
+        assertEquals(SubmissionStatus.APPROVED, lab.getStatus());
+        assertEquals(Grade.B_PLUS, lab.getGrade());
+        assertEquals(3, lab.getCreditHours());
+        // The second record starts on line 4 because the first one spans two
+        assertEquals(4, rows.get(1).line());
+        assertEquals(Grade.NONE, rows.get(1).value().submission().getGrade());
+    }
+
+    @Test
+    void parsesJsonLines() throws IOException {
+        Path file = write("submissions.jsonl",
+                "{\"student\":\"Ada\",\"title\":\"Lab \\\"1\\\"\",\"creditHours\":4,\"description\":\"a\\nb\"}\n"
+                        + "\n"
+                        + "{\"student\":\"Bob\",\"title\":\"Essay\",\"creditHours\":-1}\n");
+
+        List<BulkImporter.Parsed<BulkImporter.SubmissionRow>> rows = BulkImporter.parseSubmissions(file);
+
+        assertEquals(2, rows.size());
+        Submission lab = rows.get(0).value().submission();
+        assertEquals("Lab \"1\"", lab.getTitle());
+        assertEquals("a\nb", lab.getDescription());
+        assertEquals(4, lab.getCreditHours());
+        assertEquals(3, rows.get(1).line());
+        assertEquals("creditHours is out of range", rows.get(1).error());
+    }
+
+    @Test
+    void csvWithoutAnyKnownColumnIsRejected() throws IOException {
+        Path file = write("users.csv", "a,b,c\n1,2,3\n");
+        assertThrows(IOException.class, () -> BulkImporter.parseUsers(file));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package com.amazi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatFileHistoryRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void namesAreNormalizedAndTheNewestClearWins() throws IOException {
+        Path file = dir.resolve("history_config.txt");
+        Files.write(file, List.of(RecordTokenizer.ESCAPED_HEADER, "Ada|300", " ada |100", "ADA|200", "Bob|50"),
+                StandardCharsets.UTF_8);
+        WriteBehindExecutor writes = new WriteBehindExecutor("test-writer", 16);
+
+        Map<String, Long> loaded = new FlatFileHistoryRepository(file.toString(), writes).loadAll();
+        assertEquals(Map.of("ada", 300L, "bob", 50L), loaded);
+
+        // Loading compacts the duplicates away without losing the newest entry
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+        assertEquals(List.of(RecordTokenizer.ESCAPED_HEADER, "Ada|300", "Bob|50"),
+                Files.readAllLines(file, StandardCharsets.UTF_8));
+
+        HistoryClearRegistry registry = new HistoryClearRegistry(new FlatFileHistoryRepository(file.toString(), writes));
+        assertEquals(300L, registry.getLastClearTime("  ADA"));
+        registry.recordClear("Bob ", 400L);
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("ada", 300L, "bob", 400L),
+                new FlatFileHistoryRepository(file.toString(), writes).loadAll());
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unreadableFileIsLeftAlone() throws IOException {
+        Path file = dir.resolve("history_config.txt");
+        // A legacy file with a duplicate would be compacted on load; 0xFF is never valid UTF-8
+        String text = "Ada|100\nCy?|50\nAda|200\n";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        bytes[text.indexOf('?')] = (byte) 0xFF;
+        Files.write(file, bytes);
+        WriteBehindExecutor writes = new WriteBehindExecutor("test-writer", 16);
+
+        assertThrows(UncheckedIOException.class,
+                () -> new FlatFileHistoryRepository(file.toString(), writes).loadAll());
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+    }
+}
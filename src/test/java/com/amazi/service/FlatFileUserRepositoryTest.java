@@ -0,0 +1,42 @@
+package com.amazi.service;
+
+import com.amazi.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatFileUserRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void legacyFileKeepsItsBackslashesAcrossARewrite() throws IOException {
+        Path file = dir.resolve("users.txt");
+        Files.write(file, List.of("1|Dom\\nic|dom|dom@example.com|pa\\ss\\|Student"), StandardCharsets.UTF_8);
+        WriteBehindExecutor writes = new WriteBehindExecutor("test-writer", 16);
+        FlatFileUserRepository repo = new FlatFileUserRepository(file.toString(), writes);
+
+        User legacy = repo.loadAll().get(0);
+        assertEquals("Dom\\nic", legacy.getName());
+        assertEquals("pa\\ss\\", legacy.getPassword());
+
+        repo.save(new User(2, "New|Pipe", "new", "new@example.com", "hash", "Faculty"));
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+        assertEquals(RecordTokenizer.ESCAPED_HEADER, Files.readAllLines(file, StandardCharsets.UTF_8).get(0));
+
+        List<User> reloaded = new FlatFileUserRepository(file.toString(), writes).loadAll();
+        assertEquals("Dom\\nic", reloaded.get(0).getName());
+        assertEquals("pa\\ss\\", reloaded.get(0).getPassword());
+        assertEquals("New|Pipe", reloaded.get(1).getName());
+    }
+}
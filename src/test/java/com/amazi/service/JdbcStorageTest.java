@@ -0,0 +1,179 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import com.amazi.model.User;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcStorageTest {
+
+    private JdbcDataSource dataSource;
+    private WriteBehindExecutor writes;
+    private JdbcStorage storage;
+    private volatile boolean databaseDown;
+
+    @BeforeEach
+    void openDatabase() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        writes = new WriteBehindExecutor("test-writer", 64);
+        storage = new JdbcStorage(dataSource, writes);
+    }
+
+    @AfterEach
+    void closeDatabase() throws Exception {
+        storage.close();
+        execute("SHUTDOWN");
+    }
+
+    @Test
+    void savedUsersLoadBack() {
+        assertTrue(storage.users().isEmpty());
+        storage.users().save(new User(1, "Ada", "ada", "ada@example.com", "hash", "Student"));
+        storage.users().save(new User(2, "Bob", "bob", "bob@example.com", "hash", "Faculty"));
+        storage.users().save(new User(1, "Ada L", "ada", "ada@example.com", "hash2", "Student"));
+        flush();
+
+        List<User> loaded = storage.users().loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals("Ada L", loaded.get(0).getName());
+        assertEquals("hash2", loaded.get(0).getPassword());
+        assertFalse(storage.users().isEmpty());
+    }
+
+    @Test
+    void deletedUsersAreGone() {
+        storage.users().save(new User(1, "Ada", "ada", "ada@example.com", "hash", "Student"));
+        flush();
+        storage.users().delete(1);
+        flush();
+
+        assertTrue(storage.users().loadAll().isEmpty());
+        assertTrue(storage.users().isEmpty());
+    }
+
+    @Test
+    void submissionsRoundTripTypedColumns() {
+        Submission s = new Submission("sub-1", "Lab 1", "Physics", "Project", "General", LocalDate.of(2023, 5, 17),
+                "Optics", "None", SubmissionStatus.APPROVED, "Ada");
+        s.setGrade(Grade.B_PLUS);
+        s.setCreditHours(3);
+        storage.submissions().save(s);
+        flush();
+
+        List<Submission> loaded = storage.submissions().loadAll();
+        assertEquals(1, loaded.size());
+        assertEquals(SubmissionStatus.APPROVED, loaded.get(0).getStatus());
+        assertEquals(Grade.B_PLUS, loaded.get(0).getGrade());
+        assertEquals(3, loaded.get(0).getCreditHours());
+        assertEquals(LocalDate.of(2023, 5, 17), loaded.get(0).getCompletionDate());
+
+        storage.submissions().delete("sub-1");
+        flush();
+        assertTrue(storage.submissions().loadAll().isEmpty());
+    }
+
+    @Test
+    void tableWithoutCompletionDateGetsTheColumn() throws Exception {
+        execute("DROP TABLE submissions");
+        execute("CREATE TABLE submissions (id VARCHAR(64) PRIMARY KEY, title VARCHAR(512), course VARCHAR(255), " +
+                "student_name VARCHAR(255), status VARCHAR(32), feedback VARCHAR(4000), grade VARCHAR(16), " +
+                "description VARCHAR(4000), organization VARCHAR(255), email VARCHAR(255), " +
+                "credit_hours VARCHAR(16), last_updated BIGINT)");
+        long lastUpdated = 1_700_000_000_000L;
+        execute("INSERT INTO submissions (id, title, student_name, status, grade, last_updated) " +
+                "VALUES ('old', 'Essay', 'Bob', 'PENDING', '', " + lastUpdated + ")");
+
+        List<Submission> loaded = new JdbcStorage(dataSource, writes).submissions().loadAll();
+
+        // Stable across restarts rather than today's date
+        assertEquals(SubmissionTextFormat.completionDateFallback(lastUpdated), loaded.get(0).getCompletionDate());
+    }
+
+    @Test
+    void failedLoadThrowsInsteadOfLookingEmpty() throws Exception {
+        storage.users().save(new User(1, "Ada", "ada", "ada@example.com", "hash", "Student"));
+        flush();
+        execute("DROP TABLE users");
+        execute("DROP TABLE submissions");
+
+        assertThrows(IllegalStateException.class, () -> storage.users().loadAll());
+        assertThrows(IllegalStateException.class, () -> storage.users().isEmpty());
+        assertThrows(IllegalStateException.class, () -> storage.submissions().loadAll());
+    }
+
+    @Test
+    void failedFlushIsRetriedOnceTheDatabaseIsBack() throws Exception {
+        JdbcStorage flaky = new JdbcStorage(flakyDataSource(), writes, 50);
+        databaseDown = true;
+        flaky.users().save(new User(1, "Ada", "ada", "ada@example.com", "hash", "Student"));
+        flush();
+        databaseDown = false;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (storage.users().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, storage.users().loadAll().size());
+        flaky.close();
+    }
+
+    @Test
+    void closeWritesRowsLeftFromAFailedFlush() {
+        JdbcStorage flaky = new JdbcStorage(flakyDataSource(), writes, TimeUnit.HOURS.toMillis(1));
+        databaseDown = true;
+        flaky.submissions().save(new Submission("sub-1", "Lab 1", "Physics", "Project", "General", LocalDate.now(),
+                "Optics", "None", SubmissionStatus.PENDING, "Ada"));
+        flush();
+        assertTrue(storage.submissions().loadAll().isEmpty());
+
+        databaseDown = false;
+        flaky.close();
+        assertEquals(1, new JdbcStorage(dataSource, writes).submissions().loadAll().size());
+    }
+
+    // Fails every getConnection() while databaseDown is set
+    private DataSource flakyDataSource() {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (databaseDown && method.getName().equals("getConnection")) {
+                        throw new SQLException("database is down");
+                    }
+                    try {
+                        return method.invoke(dataSource, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void flush() {
+        assertTrue(writes.flush(10, TimeUnit.SECONDS));
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.amazi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    @Test
+    void hashedPasswordsVerify() {
+        String stored = PasswordHasher.hash("pässwörd");
+        assertTrue(PasswordHasher.isHashed(stored));
+        assertTrue(PasswordHasher.verify("pässwörd", stored));
+        assertFalse(PasswordHasher.verify("passwort", stored));
+        assertFalse(PasswordHasher.needsRehash(stored));
+    }
+
+    @Test
+    void legacyPlaintextComparesAsUtf8() {
+        assertTrue(PasswordHasher.verify("grüße€", "grüße€"));
+        // Different characters that a lossy default charset could map to the same '?' bytes
+        assertFalse(PasswordHasher.verify("grüße€", "grüße₤"));
+        assertTrue(PasswordHasher.needsRehash("grüße€"));
+    }
+
+    @Test
+    void accountWithoutPasswordNeverVerifies() {
+        assertFalse(PasswordHasher.verify(PasswordHasher.NEEDS_RESET, PasswordHasher.NEEDS_RESET));
+        assertFalse(PasswordHasher.verify("", PasswordHasher.NEEDS_RESET));
+    }
+}
@@ -0,0 +1,114 @@
+package com.amazi.service;
+
+import com.amazi.model.StringPool;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordTokenizerTest {
+
+    private final RecordTokenizer t = new RecordTokenizer();
+
+    @Test
+    void escapedValuesRoundTrip() {
+        String[] values = {"plain", "a|b", "C:\\new\\file", "ends with \\", "two\nlines\r\n", "\\|\\\\|", "", "ünïcødé|é"};
+        StringBuilder line = new StringBuilder();
+        for (String v : values) {
+            RecordTokenizer.appendEscaped(line, v).append('|');
+        }
+        line.setLength(line.length() - 1);
+
+        t.reset(line.toString());
+        assertEquals(values.length, t.fieldCount());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], t.text(i), "field " + i);
+        }
+    }
+
+    @Test
+    void escapedLineHasNoRawLineBreaks() {
+        String line = RecordTokenizer.appendEscaped(new StringBuilder(), "a\nb\rc").toString();
+        assertFalse(line.contains("\n"));
+        assertFalse(line.contains("\r"));
+    }
+
+    @Test
+    void legacyLinesAreReadVerbatim() {
+        // Written before escaping: backslashes are literal, including one right before a separator
+        String legacy = "C:\\new\\table|trailing\\|x";
+
+        t.escaped(false).reset(legacy);
+        assertEquals(3, t.fieldCount());
+        assertEquals("C:\\new\\table", t.text(0));
+        assertEquals("trailing\\", t.text(1));
+        assertEquals("x", t.text(2));
+
+        // The same bytes under the escaped reading would be damaged, which is why files carry a header
+        t.escaped(true).reset(legacy);
+        assertEquals(2, t.fieldCount());
+    }
+
+    @Test
+    void unknownEscapesKeepTheBackslash() {
+        t.reset("a\\qb|c");
+        assertEquals("a\\qb", t.text(0));
+    }
+
+    @Test
+    void missingAndEmptyFields() {
+        t.reset("a||c");
+        assertEquals(3, t.fieldCount());
+        assertTrue(t.isEmpty(1));
+        assertTrue(t.isEmpty(7));
+        assertNull(t.text(7));
+        assertEquals("", t.text(1));
+    }
+
+    @Test
+    void numbersAndDatesAreParsedInPlace() {
+        t.reset("42|-7|9223372036854775807|2024-02-29|2023-02-29|12x|-");
+        assertEquals(42, t.intValue(0));
+        assertEquals(-7L, t.longValue(1));
+        assertEquals(Long.MAX_VALUE, t.longValue(2));
+        assertEquals(LocalDate.of(2024, 2, 29), t.dateValue(3));
+        assertNull(t.dateValue(4));
+        assertThrows(NumberFormatException.class, () -> t.longValue(5));
+        assertThrows(NumberFormatException.class, () -> t.longValue(6));
+        assertThrows(NumberFormatException.class, () -> t.intValue(2));
+    }
+
+    @Test
+    void tokenizesASliceOfABuffer() {
+        byte[] bytes = "skip\nfirst|second\nrest".getBytes(StandardCharsets.UTF_8);
+        t.reset(ByteBuffer.wrap(bytes), 5, 17);
+        assertEquals(2, t.fieldCount());
+        assertEquals("first", t.text(0));
+        assertEquals("second", t.text(1));
+    }
+
+    @Test
+    void comparesIgnoringCaseWithoutDecoding() {
+        t.reset("approved|APPROVED|approve");
+        assertTrue(t.equalsIgnoreCase(0, "APPROVED"));
+        assertTrue(t.equalsIgnoreCase(1, "approved"));
+        assertFalse(t.equalsIgnoreCase(2, "APPROVED"));
+    }
+
+    @Test
+    void pooledTextReusesTheSameInstance() {
+        StringPool pool = new StringPool(64, 32);
+        String first = t.reset("Physics|x").text(0, pool);
+        String second = t.reset("Physics|y").text(0, pool);
+        assertSame(first, second);
+        assertEquals("a|b", t.reset("a\\|b").text(0, pool));
+    }
+}
@@ -0,0 +1,125 @@
+package com.amazi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private Path snapshot;
+    private Path journalFile;
+    private Path compacting;
+    private WriteBehindExecutor writes;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = dir.resolve("submissions.txt");
+        journalFile = dir.resolve("submissions.journal");
+        compacting = dir.resolve("submissions.journal.compacting");
+        writes = new WriteBehindExecutor("test-writer", 64);
+    }
+
+    @Test
+    void replaysAppendsInOrder() {
+        SubmissionJournal journal = journal(100, List::of);
+        journal.appendUpsert("a|1");
+        journal.appendUpserts(List.of("b|1", "c|1"));
+        journal.appendDelete("b");
+        flush();
+
+        List<String> events = replay(journal(100, List::of));
+        assertEquals(List.of("U a|1", "U b|1", "U c|1", "D b"), events);
+    }
+
+    @Test
+    void compactNowWritesSnapshotAndDropsTheLog() throws IOException {
+        SubmissionJournal journal = journal(100, List::of);
+        journal.appendUpsert("a|1");
+        journal.compactNow(List.of("a|1", "b|2"));
+
+        assertEquals(List.of(RecordTokenizer.ESCAPED_HEADER, "a|1", "b|2"),
+                Files.readAllLines(snapshot, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(journalFile));
+        assertFalse(Files.exists(compacting));
+        assertTrue(replay(journal(100, List::of)).isEmpty());
+    }
+
+    @Test
+    void backgroundCompactionFoldsTheLogIntoTheSnapshot() throws Exception {
+        List<String> records = new ArrayList<>();
+        SubmissionJournal journal = journal(3, () -> List.copyOf(records));
+        for (int i = 0; i < 3; i++) {
+            records.add("r" + i);
+            journal.appendUpsert("r" + i);
+        }
+        flush();
+        awaitGone(compacting);
+
+        List<String> written = Files.readAllLines(snapshot, StandardCharsets.UTF_8);
+        assertEquals(RecordTokenizer.ESCAPED_HEADER, written.get(0));
+        assertEquals(records, written.subList(1, written.size()));
+        assertFalse(Files.exists(journalFile));
+    }
+
+    @Test
+    void leftoverCompactingFileIsKeptWhenTheNextCompactionRotates() throws IOException {
+        Files.write(compacting, List.of("U|old|1"), StandardCharsets.UTF_8);
+        // A directory in place of the snapshot makes every compaction fail
+        Files.createDirectories(snapshot.resolve("blocker"));
+
+        SubmissionJournal journal = journal(1, List::of);
+        journal.appendUpsert("new|1");
+        flush();
+
+        assertEquals(List.of("U|old|1", RecordTokenizer.ESCAPED_HEADER, "U|new|1"),
+                Files.readAllLines(compacting, StandardCharsets.UTF_8));
+        assertEquals(List.of("U old|1", "U new|1"), replay(journal(100, List::of)));
+    }
+
+    @Test
+    void onlyLinesAfterTheHeaderCountAsEscaped() throws IOException {
+        Files.write(journalFile, List.of("U|legacy", RecordTokenizer.ESCAPED_HEADER, "U|current"),
+                StandardCharsets.UTF_8);
+        List<String> events = new ArrayList<>();
+        journal(100, List::of).replay((line, escaped) -> events.add(line + "=" + escaped), events::add);
+
+        assertEquals(List.of("legacy=false", "current=true"), events);
+    }
+
+    private SubmissionJournal journal(int threshold, java.util.function.Supplier<List<String>> source) {
+        return new SubmissionJournal(snapshot.toString(), journalFile.toString(), threshold, source, writes);
+    }
+
+    private static List<String> replay(SubmissionJournal journal) {
+        List<String> events = new ArrayList<>();
+        journal.replay((line, escaped) -> events.add("U " + line), id -> events.add("D " + id));
+        return events;
+    }
+
+    private void flush() {
+        assertTrue(writes.flush(10, TimeUnit.SECONDS));
+    }
+
+    private static void awaitGone(Path file) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (Files.exists(file) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(Files.exists(file), file + " was not removed");
+    }
+}
@@ -0,0 +1,80 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionSearchIndexTest {
+
+    private final SubmissionSearchIndex index = new SubmissionSearchIndex();
+    private Submission physics;
+    private Submission essay;
+
+    @BeforeEach
+    void setUp() {
+        physics = submission("1", "Alice Smith", "Physics Lab");
+        essay = submission("2", "Bob Jones", "History Essay");
+        index.put(physics);
+        index.put(essay);
+    }
+
+    @Test
+    void matchesSubstringsOfNameOrTitleIgnoringCase() {
+        assertEquals(Set.of("1"), index.search("ics"));
+        assertEquals(Set.of("1"), index.search("SMITH"));
+        assertEquals(Set.of("2"), index.search("y e"));
+        assertEquals(Set.of("1", "2"), index.search("s"));
+        assertEquals(Set.of(), index.search("quantum"));
+    }
+
+    @Test
+    void queryDoesNotSpanNameAndTitle() {
+        assertEquals(Set.of(), index.search("smithphysics"));
+    }
+
+    @Test
+    void blankQueryMatchesEverything() {
+        Predicate<Submission> all = index.matcher("  ");
+        assertTrue(all.test(physics));
+        assertTrue(all.test(essay));
+    }
+
+    @Test
+    void matcherFollowsLaterChanges() {
+        Predicate<Submission> lab = index.matcher("lab");
+        Submission added = submission("3", "Carol", "Chemistry Lab");
+        index.put(added);
+        Submission renamed = submission("2", "Bob Jones", "Lab Report");
+        index.put(renamed);
+
+        assertTrue(lab.test(physics));
+        assertTrue(lab.test(added));
+        assertTrue(lab.test(renamed));
+
+        index.remove("1");
+        assertEquals(Set.of("2", "3"), index.search("lab"));
+        assertFalse(index.matcher("physics").test(essay));
+    }
+
+    @Test
+    void regradingKeepsTheSlot() {
+        Predicate<Submission> alice = index.matcher("alice");
+        physics.setFeedback("Well done");
+        index.put(physics);
+        assertTrue(alice.test(physics));
+        assertEquals(Set.of("1"), index.search("alice"));
+    }
+
+    private static Submission submission(String id, String student, String title) {
+        return new Submission(id, title, "General", "Project", "General", null,
+                "", "None", SubmissionStatus.PENDING, student);
+    }
+}
@@ -0,0 +1,110 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SubmissionSnapshotCodecTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryStoredField() throws IOException {
+        Submission s = new Submission("id-1", "Lab|1", "Physics", "Project", "General",
+                LocalDate.of(2024, 3, 1), "Line one\nline two", "None", SubmissionStatus.REVISION, "Ada");
+        s.setFeedback("Redo part 2");
+        s.setGrade(Grade.C_PLUS);
+        s.setOrganizationName("Uni");
+        s.setEmail("ada@example.com");
+        s.setCreditHours(4);
+        s.setLastUpdated(1_700_000_000_000L);
+        Path text = writeText(s, new Submission("id-2", "Essay", "History", "Project", "General",
+                null, "", "None", SubmissionStatus.PENDING, "Bob"));
+
+        List<Submission> loaded = SubmissionSnapshotCodec.readSidecar(text);
+
+        assertNotNull(loaded);
+        assertEquals(2, loaded.size());
+        Submission r = loaded.get(0);
+        assertEquals("id-1", r.getId());
+        assertEquals("Lab|1", r.getTitle());
+        assertEquals("Physics", r.getCourse());
+        assertEquals("Ada", r.getStudentName());
+        assertEquals(SubmissionStatus.REVISION, r.getStatus());
+        assertEquals(Grade.C_PLUS, r.getGrade());
+        assertEquals("Redo part 2", r.getFeedback());
+        assertEquals("Line one\nline two", r.getDescription());
+        assertEquals("Uni", r.getOrganizationName());
+        assertEquals("ada@example.com", r.getEmail());
+        assertEquals(4, r.getCreditHours());
+        assertEquals(1_700_000_000_000L, r.getLastUpdated());
+        assertEquals(LocalDate.of(2024, 3, 1), r.getCompletionDate());
+        assertEquals(Grade.NONE, loaded.get(1).getGrade());
+    }
+
+    @Test
+    void staleSidecarIsIgnored() throws IOException {
+        Path text = writeText(new Submission("id-1", "Lab", "Physics", "Project", "General",
+                null, "", "None", SubmissionStatus.PENDING, "Ada"));
+        assertNotNull(SubmissionSnapshotCodec.readSidecar(text));
+
+        // A hand edit changes the size; a touch changes only the mtime
+        Files.writeString(text, "\n", StandardOpenOption.APPEND);
+        assertNull(SubmissionSnapshotCodec.readSidecar(text));
+
+        Path touched = writeText(new Submission("id-1", "Lab", "Physics", "Project", "General",
+                null, "", "None", SubmissionStatus.PENDING, "Ada"));
+        Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 5_000));
+        assertNull(SubmissionSnapshotCodec.readSidecar(touched));
+    }
+
+    @Test
+    void unreadableSidecarIsIgnored() throws IOException {
+        Path text = writeText(new Submission("id-1", "Lab", "Physics", "Project", "General",
+                null, "", "None", SubmissionStatus.PENDING, "Ada"));
+        Path sidecar = SubmissionSnapshotCodec.sidecarFor(text);
+
+        byte[] bytes = Files.readAllBytes(sidecar);
+        Files.write(sidecar, Arrays.copyOf(bytes, bytes.length - 3));
+        assertNull(SubmissionSnapshotCodec.readSidecar(text));
+
+        Files.write(sidecar, new byte[]{1, 2, 3});
+        assertNull(SubmissionSnapshotCodec.readSidecar(text));
+    }
+
+    @Test
+    void leavesNoTempFilesBehind() throws IOException {
+        writeText(new Submission("id-1", "Lab", "Physics", "Project", "General",
+                null, "", "None", SubmissionStatus.PENDING, "Ada"));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("submissions.txt", "submissions.txt.bin"),
+                    files.map(p -> p.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    private Path writeText(Submission... records) throws IOException {
+        Path text = dir.resolve("submissions.txt");
+        List<String> lines = Stream.of(records).map(SubmissionTextFormat::format).toList();
+        Files.write(text, lines, StandardCharsets.UTF_8);
+        SubmissionSnapshotCodec.writeSidecar(text, lines);
+        return text;
+    }
+}
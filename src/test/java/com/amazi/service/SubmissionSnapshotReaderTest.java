@@ -0,0 +1,97 @@
+package com.amazi.service;
+
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionSnapshotReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void multiChunkFileKeepsEveryRecordInOrder() throws IOException {
+        // Several MB, so the file is cut into chunks; uneven line lengths move the cuts around
+        List<String> lines = new ArrayList<>();
+        lines.add(RecordTokenizer.ESCAPED_HEADER);
+        int count = 40_000;
+        for (int i = 0; i < count; i++) {
+            lines.add(SubmissionTextFormat.format(submission(i)));
+        }
+        Path file = dir.resolve("submissions.txt");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        assertTrue(Files.size(file) > 3 << 20, "test file should span several chunks");
+
+        SubmissionSnapshotReader.Result result = SubmissionSnapshotReader.read(file);
+
+        assertEquals(count, result.records().size());
+        assertFalse(result.legacyRows());
+        for (int i = 0; i < count; i++) {
+            Submission s = result.records().get(i);
+            assertEquals("id-" + i, s.getId());
+            assertEquals(description(i), s.getDescription(), "record " + i);
+        }
+    }
+
+    @Test
+    void readsCrlfLinesAndSkipsBlankOnes() throws IOException {
+        String a = SubmissionTextFormat.format(submission(1));
+        String b = SubmissionTextFormat.format(submission(2));
+        Path file = dir.resolve("submissions.txt");
+        Files.writeString(file, RecordTokenizer.ESCAPED_HEADER + "\r\n" + a + "\r\n\r\n" + b, StandardCharsets.UTF_8);
+
+        List<Submission> records = SubmissionSnapshotReader.read(file).records();
+
+        assertEquals(2, records.size());
+        assertEquals("id-1", records.get(0).getId());
+        assertEquals("id-2", records.get(1).getId());
+        assertEquals(LocalDate.of(2024, 1, 3), records.get(1).getCompletionDate());
+    }
+
+    @Test
+    void fileWithoutHeaderIsReadVerbatim() throws IOException {
+        Path file = dir.resolve("submissions.txt");
+        Files.writeString(file, "Lab\\1|C:\\courses\\new|Ada|APPROVED|Fine|A\n", StandardCharsets.UTF_8);
+
+        SubmissionSnapshotReader.Result result = SubmissionSnapshotReader.read(file);
+
+        assertEquals(1, result.records().size());
+        Submission s = result.records().get(0);
+        assertEquals("Lab\\1", s.getTitle());
+        assertEquals("C:\\courses\\new", s.getCourse());
+        assertEquals(SubmissionStatus.APPROVED, s.getStatus());
+        // Six columns predate persisted ids
+        assertTrue(result.legacyRows());
+    }
+
+    @Test
+    void emptyFileHasNoRecords() throws IOException {
+        Path file = Files.createFile(dir.resolve("submissions.txt"));
+        assertTrue(SubmissionSnapshotReader.read(file).records().isEmpty());
+    }
+
+    private static Submission submission(int i) {
+        Submission s = new Submission("id-" + i, "Lab " + i, "Course " + (i % 50), "Project", "General",
+                LocalDate.of(2024, 1, 1 + i % 28), description(i), "None", SubmissionStatus.PENDING, "Student " + (i % 700));
+        s.setLastUpdated(1_700_000_000_000L + i);
+        return s;
+    }
+
+    // Escaped separators and line breaks must not be mistaken for record or chunk ends
+    private static String description(int i) {
+        return "Notes|" + i + "\nline two " + "x".repeat(i % 97);
+    }
+}
@@ -0,0 +1,72 @@
+package com.amazi.service;
+
+import com.amazi.model.Grade;
+import com.amazi.model.Submission;
+import com.amazi.model.SubmissionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionStoreTest {
+
+    private final SubmissionStore store = new SubmissionStore();
+
+    @Test
+    void editingARecordKeepsItsPlaceForTheStudent() {
+        Submission first = submission("a", "Ada", "Lab 1");
+        store.put(first);
+        store.put(submission("b", "Ada", "Lab 2"));
+        store.put(submission("c", "Ada", "Lab 3"));
+
+        // Graded in place, the way the controllers do it
+        first.setStatus(SubmissionStatus.APPROVED);
+        first.setGrade(Grade.A);
+        first.setCreditHours(3);
+        store.put(first);
+
+        assertEquals(List.of("a", "b", "c"), ids(store.forStudent("ada")));
+        assertEquals(3, store.totalsFor("Ada").getApprovedCredits());
+    }
+
+    @Test
+    void recordFiledUnderAnotherStudentMovesBucketAndTotals() {
+        Submission original = submission("a", "Ada", "Lab 1");
+        original.setStatus(SubmissionStatus.APPROVED);
+        original.setCreditHours(4);
+        store.put(original);
+
+        Submission moved = submission("a", "Bob", "Lab 1");
+        moved.setStatus(SubmissionStatus.APPROVED);
+        moved.setCreditHours(4);
+        store.put(moved);
+
+        assertTrue(store.forStudent("Ada").isEmpty());
+        assertTrue(store.totalsFor("Ada").isEmpty());
+        assertEquals(List.of("a"), ids(store.forStudent("Bob")));
+        assertEquals(4, store.totalsFor("Bob").getApprovedCredits());
+    }
+
+    @Test
+    void removeUsesWhereTheRecordWasFiled() {
+        store.put(submission("a", "Ada", "Lab 1"));
+        store.put(submission("b", "Ada", "Lab 2"));
+        store.remove("a");
+
+        assertEquals(List.of("b"), ids(store.forStudent("Ada")));
+        assertEquals(1, store.totalsFor("Ada").getCount(SubmissionStatus.PENDING));
+        assertEquals(1, store.size());
+    }
+
+    private static Submission submission(String id, String student, String title) {
+        return new Submission(id, title, "Physics", "Project", "General", LocalDate.of(2024, 1, 1),
+                "", "None", SubmissionStatus.PENDING, student);
+    }
+
+    private static List<String> ids(List<Submission> submissions) {
+        return submissions.stream().map(Submission::getId).toList();
+    }
+}
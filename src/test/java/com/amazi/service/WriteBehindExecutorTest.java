@@ -0,0 +1,63 @@
+package com.amazi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindExecutorTest {
+
+    @Test
+    void interruptedSubmitterStillQueuesOnTheWorker() throws Exception {
+        WriteBehindExecutor writes = new WriteBehindExecutor("test-writer", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> ranOn = new CopyOnWriteArrayList<>();
+        // Park the worker and fill the queue so the next submit has to wait
+        writes.submit(() -> awaitQuietly(release));
+        writes.submit(() -> ranOn.add(Thread.currentThread().getName()));
+
+        boolean[] interruptKept = new boolean[1];
+        Thread submitter = new Thread(() -> {
+            Thread.currentThread().interrupt();
+            writes.submit(() -> ranOn.add(Thread.currentThread().getName()));
+            interruptKept[0] = Thread.currentThread().isInterrupted();
+        });
+        submitter.start();
+        Thread.sleep(100);
+        release.countDown();
+        submitter.join(5_000);
+
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+        assertEquals(List.of("test-writer", "test-writer"), ranOn);
+        assertTrue(interruptKept[0]);
+    }
+
+    @Test
+    void coalescedWritesRunOnceWithTheLatestTask() throws Exception {
+        WriteBehindExecutor writes = new WriteBehindExecutor("test-writer", 16);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        writes.submit(() -> awaitQuietly(release));
+        for (int i = 0; i < 5; i++) {
+            int n = i;
+            writes.submitCoalesced("users", () -> ran.add(n));
+        }
+        release.countDown();
+
+        assertTrue(writes.flush(5, TimeUnit.SECONDS));
+        assertEquals(List.of(4), ran);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}